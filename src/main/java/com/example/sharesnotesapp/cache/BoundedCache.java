@@ -0,0 +1,271 @@
+package com.example.sharesnotesapp.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Small in-memory LRU cache with an entry limit, an optional weight limit and an optional time to live.
+ * Loaders run outside the lock, so two threads missing on the same key may both load it.
+ */
+public class BoundedCache<K, V> {
+    private final int maxSize;
+    private final long ttlNanos;
+    private final long maxWeight;
+    private final ToLongFunction<? super V> weigher;
+    private final Consumer<? super V> removalListener;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long weight;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param maxSize - maximum number of entries, the least recently used one is evicted first
+     * @param ttl     - how long an entry stays valid after being stored, zero or null disables expiry
+     */
+    public BoundedCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, Long.MAX_VALUE, value -> 0, value -> {
+        });
+    }
+
+    /**
+     * @param maxSize         - maximum number of entries
+     * @param ttl             - how long an entry stays valid, zero or null disables expiry
+     * @param maxWeight       - maximum total weight of the entries
+     * @param weigher         - computes the weight of a value, e.g. its size in bytes
+     * @param removalListener - called outside the lock for every value that is evicted, invalidated or replaced
+     */
+    public BoundedCache(int maxSize, Duration ttl, long maxWeight,
+                        ToLongFunction<? super V> weigher, Consumer<? super V> removalListener) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be a positive integer");
+        }
+
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Cache weight must be a positive integer");
+        }
+
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl == null ? 0 : ttl.toNanos();
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.removalListener = removalListener;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public V get(K key) {
+        Entry<V> expired = null;
+        V value = null;
+
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+
+            if (entry != null && entry.isExpired(System.nanoTime())) {
+                expired = removeEntry(key);
+                evictions.incrementAndGet();
+                entry = null;
+            }
+
+            if (entry == null) {
+                misses.incrementAndGet();
+            } else {
+                hits.incrementAndGet();
+                value = entry.value();
+            }
+        }
+
+        if (expired != null) {
+            removalListener.accept(expired.value());
+        }
+
+        return value;
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+
+        value = loader.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+
+        return value;
+    }
+
+    public void put(K key, V value) {
+        long now = System.nanoTime();
+        long expiresAt = ttlNanos > 0 ? now + ttlNanos : Long.MAX_VALUE;
+        Entry<V> entry = new Entry<>(value, expiresAt, weigher.applyAsLong(value));
+        List<V> removed = new ArrayList<>();
+
+        synchronized (entries) {
+            Entry<V> previous = entries.put(key, entry);
+            weight += entry.weight();
+            if (previous != null) {
+                weight -= previous.weight();
+                removed.add(previous.value());
+            }
+
+            if (entries.size() > maxSize || weight > maxWeight) {
+                removeExpired(now, removed);
+            }
+
+            Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+            while ((entries.size() > maxSize || weight > maxWeight) && eldest.hasNext()) {
+                Entry<V> evicted = eldest.next().getValue();
+                eldest.remove();
+                weight -= evicted.weight();
+                removed.add(evicted.value());
+                evictions.incrementAndGet();
+            }
+        }
+
+        removed.forEach(removalListener);
+    }
+
+    public void invalidate(K key) {
+        Entry<V> removed;
+        synchronized (entries) {
+            removed = removeEntry(key);
+        }
+
+        if (removed != null) {
+            removalListener.accept(removed.value());
+        }
+    }
+
+    public void invalidateIf(Predicate<? super V> predicate) {
+        removeMatching((key, entry) -> predicate.test(entry.value()));
+    }
+
+    public void invalidateKeys(Predicate<? super K> predicate) {
+        removeMatching((key, entry) -> predicate.test(key));
+    }
+
+    public void clear() {
+        removeMatching((key, entry) -> true);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return hits divided by all lookups, zero before the first lookup
+     */
+    public double getHitRatio() {
+        long hitCount = hits.get();
+        long lookups = hitCount + misses.get();
+
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public long getWeight() {
+        synchronized (entries) {
+            return weight;
+        }
+    }
+
+    /**
+     * Registers the hit, miss, eviction and size meters using the standard micrometer cache names,
+     * plus the hit ratio since startup
+     *
+     * @param registry - the registry to bind to
+     * @param name     - value of the "cache" tag
+     */
+    public void bindTo(MeterRegistry registry, String name) {
+        FunctionCounter.builder("cache.gets", hits, AtomicLong::get)
+                .tags("cache", name, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, AtomicLong::get)
+                .tags("cache", name, "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, AtomicLong::get)
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("cache.size", this, BoundedCache::size)
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("cache.hit.ratio", this, BoundedCache::getHitRatio)
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    private void removeMatching(BiPredicate<? super K, Entry<V>> predicate) {
+        List<V> removed = new ArrayList<>();
+
+        synchronized (entries) {
+            Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<K, Entry<V>> entry = iterator.next();
+                if (predicate.test(entry.getKey(), entry.getValue())) {
+                    iterator.remove();
+                    weight -= entry.getValue().weight();
+                    removed.add(entry.getValue().value());
+                }
+            }
+        }
+
+        removed.forEach(removalListener);
+    }
+
+    private Entry<V> removeEntry(K key) {
+        Entry<V> removed = entries.remove(key);
+        if (removed != null) {
+            weight -= removed.weight();
+        }
+
+        return removed;
+    }
+
+    private void removeExpired(long now, List<V> removed) {
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry<V> entry = iterator.next();
+            if (entry.isExpired(now)) {
+                iterator.remove();
+                weight -= entry.weight();
+                removed.add(entry.value());
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt, long weight) {
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0 && expiresAt != Long.MAX_VALUE;
+        }
+    }
+}
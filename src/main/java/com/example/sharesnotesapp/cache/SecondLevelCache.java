@@ -0,0 +1,64 @@
+package com.example.sharesnotesapp.cache;
+
+import com.example.sharesnotesapp.model.Note;
+import com.example.sharesnotesapp.model.User;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Collection;
+
+/**
+ * Evicts hibernate second-level cache data for rows the database changes on its own, which hibernate
+ * cannot see
+ */
+@Component
+public class SecondLevelCache {
+    private static final String FRIEND_LIST_ROLE = User.class.getName() + ".friendList";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SecondLevelCache(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Drops the cached friend lists of the users after a native write to user_friends. Hibernate only
+     * evicts collections of entities whose tables a native statement names, so these are evicted here,
+     * right away and once more after the commit for loads that raced the write.
+     */
+    public void evictFriendLists(Collection<Long> userIds) {
+        evictFriendListsNow(userIds);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictFriendListsNow(userIds);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops the cached notes and friend lists that can still refer to a deleted user, its notes are
+     * deleted by the database through the foreign key
+     */
+    public void evictUserDependents() {
+        Cache cache = cache();
+        cache.evictEntityData(Note.class);
+        cache.evictCollectionData(FRIEND_LIST_ROLE);
+    }
+
+    private void evictFriendListsNow(Collection<Long> userIds) {
+        Cache cache = cache();
+        userIds.forEach(userId -> cache.evictCollectionData(FRIEND_LIST_ROLE, userId));
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
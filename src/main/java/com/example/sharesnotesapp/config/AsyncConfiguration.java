@@ -0,0 +1,50 @@
+package com.example.sharesnotesapp.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Runs application event listeners marked with {@code @Async(EVENT_EXECUTOR)} on a small bounded pool.
+ * When the queue is full the publishing thread runs the listener itself, so events are slowed down
+ * rather than dropped.
+ * <p>
+ * Declaring that pool makes spring boot back off from its own application task executor, which also runs
+ * the asynchronous MVC responses such as the streamed downloads. It is declared here instead, under the same
+ * names and bounded by the spring.task.execution.* properties, so those responses do not fall back to a
+ * thread per request.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfiguration {
+    public static final String EVENT_EXECUTOR = "eventExecutor";
+
+    @Bean(name = EVENT_EXECUTOR)
+    public ThreadPoolTaskExecutor eventExecutor(@Value("${app.eventExecutorThreads:2}") int threads,
+                                                @Value("${app.eventQueueCapacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("event-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+
+        return executor;
+    }
+
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ObjectProvider<TaskExecutorBuilder> builder) {
+        return builder.getIfAvailable(TaskExecutorBuilder::new).build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.sharesnotesapp.config;
+
+import com.example.sharesnotesapp.model.id.PooledSequenceGenerator;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Map;
+
+/**
+ * Passes the allocation sizes bound from "app.id-allocation-size.*" to hibernate, where they are read by
+ * {@link PooledSequenceGenerator}. The camel case spelling of application.properties
+ * (e.g. app.idAllocationSize.note=50) binds to the same map.
+ */
+@Configuration
+public class IdAllocationConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer idAllocationSizeCustomizer(Environment environment) {
+        Map<String, Integer> allocationSizes = Binder.get(environment)
+                .bind("app.id-allocation-size", Bindable.mapOf(String.class, Integer.class))
+                .orElse(Map.of());
+
+        return properties -> allocationSizes.forEach((key, size) ->
+                properties.put(PooledSequenceGenerator.ALLOCATION_SIZE_PREFIX + key, size));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.sharesnotesapp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves every id sequence table past the highest id already stored, before the application accepts requests.
+ * Ids handed out by the pooled generators then always grow, also when the allocation size changed
+ * or rows were inserted with explicit ids. The update only ever raises the stored value.
+ */
+@Component
+public class IdSequenceMigration implements SmartInitializingSingleton {
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceMigration.class);
+
+    static final List<SequenceTable> SEQUENCES = List.of(
+            new SequenceTable("user_sequence", "users"),
+            new SequenceTable("note_sequence", "notes"),
+            new SequenceTable("share_sequence", "shares"),
+            new SequenceTable("req_sequence", "requests"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        SEQUENCES.forEach(this::align);
+    }
+
+    void align(SequenceTable sequence) {
+        try {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + sequence.table(), Long.class);
+            long nextId = (maxId == null ? 0 : maxId) + 1;
+
+            int updated = jdbcTemplate.update("UPDATE " + sequence.name() + " SET next_val = ? WHERE next_val < ?", nextId, nextId);
+            if (updated > 0) {
+                logger.info("Moved {} to {}", sequence.name(), nextId);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Could not align {} with {}: {}", sequence.name(), sequence.table(), e.getMessage());
+        }
+    }
+
+    record SequenceTable(String name, String table) {
+    }
+}
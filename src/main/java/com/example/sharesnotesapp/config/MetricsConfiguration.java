@@ -0,0 +1,66 @@
+package com.example.sharesnotesapp.config;
+
+import com.example.sharesnotesapp.metrics.EntityLoadCountingInterceptor;
+import com.example.sharesnotesapp.metrics.RequestMetricsInterceptor;
+import com.example.sharesnotesapp.metrics.StatementCountingInspector;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Request metrics on top of the actuator ones: the request timers are tagged with the handling controller
+ * method, and the statements and entity loads of each request are recorded per endpoint. Requests over
+ * app.requestStatementThreshold statements, or repeating one statement over app.repeatedStatementThreshold
+ * times, are flagged. Latency histograms and the scrape endpoint are configured with the management.*
+ * properties.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer requestStatisticsCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCountingInspector());
+            properties.put(AvailableSettings.INTERCEPTOR, new EntityLoadCountingInterceptor());
+        };
+    }
+
+    @Bean
+    public WebMvcConfigurer requestMetricsConfigurer(MeterRegistry meterRegistry,
+                                                     @Value("${app.requestStatementThreshold:50}") int statementThreshold,
+                                                     @Value("${app.repeatedStatementThreshold:10}") int repeatedStatementThreshold) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new RequestMetricsInterceptor(meterRegistry, statementThreshold, repeatedStatementThreshold));
+            }
+        };
+    }
+
+    @Bean
+    public WebMvcTagsContributor handlerTagsContributor() {
+        return new WebMvcTagsContributor() {
+            @Override
+            public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response,
+                                         Object handler, Throwable exception) {
+                return Tags.of("handler", RequestMetricsInterceptor.handlerName(handler));
+            }
+
+            @Override
+            public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+                return Tags.empty();
+            }
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.sharesnotesapp.config;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.spi.CachingProvider;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Enables the hibernate second-level and query caches on an in-JVM ehcache manager. Every region is
+ * created up front with a heap limit, the limits of the entity, collection and query regions can be
+ * changed with the "app.cacheRegionSize.*" properties (e.g. app.cacheRegionSize.users=10000).
+ */
+@Configuration
+public class SecondLevelCacheConfiguration {
+    public static final String USERS_REGION = "users";
+    public static final String FRIEND_LISTS_REGION = "user-friends";
+    public static final String NOTES_REGION = "notes";
+    public static final String USERS_BY_EMAIL_REGION = "users-by-email";
+
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+    private static final long DEFAULT_REGION_SIZE = 10000;
+    // holds one entry per table, evicting one would let stale query results through
+    private static final long UPDATE_TIMESTAMPS_SIZE = 1000;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(Environment environment) {
+        Map<String, Long> sizes = new HashMap<>();
+        for (String region : new String[]{USERS_REGION, FRIEND_LISTS_REGION, NOTES_REGION, USERS_BY_EMAIL_REGION, QUERY_RESULTS_REGION}) {
+            sizes.put(region, DEFAULT_REGION_SIZE);
+        }
+
+        sizes.putAll(Binder.get(environment)
+                .bind("app.cache-region-size", Bindable.mapOf(String.class, Long.class))
+                .orElse(Map.of()));
+        sizes.put(UPDATE_TIMESTAMPS_REGION, UPDATE_TIMESTAMPS_SIZE);
+
+        // a provider of its own, so every application context gets a separate manager
+        CachingProvider provider = new EhcacheCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        sizes.forEach((region, size) -> cacheManager.createCache(region, Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(size)))));
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, JCacheRegionFactory.class.getName());
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
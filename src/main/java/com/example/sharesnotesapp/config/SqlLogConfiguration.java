@@ -0,0 +1,37 @@
+package com.example.sharesnotesapp.config;
+
+import com.example.sharesnotesapp.metrics.AsyncSqlLogger;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the data source so every execution reaches the {@link AsyncSqlLogger}, which replaces hibernate's
+ * show-sql output. The data source is left alone when the logger is disabled (app.sqlLogSampleRate=0 and
+ * app.slowQueryThresholdMs=0).
+ */
+@Configuration
+public class SqlLogConfiguration {
+
+    @Bean
+    public static BeanPostProcessor sqlLogDataSourceProxy(ObjectProvider<AsyncSqlLogger> sqlLogger) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    AsyncSqlLogger listener = sqlLogger.getObject();
+                    if (listener.isEnabled()) {
+                        return ProxyDataSourceBuilder.create(beanName, dataSource).listener(listener).build();
+                    }
+                }
+
+                return bean;
+            }
+        };
+    }
+}
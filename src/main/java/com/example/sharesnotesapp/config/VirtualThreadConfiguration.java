@@ -0,0 +1,121 @@
+package com.example.sharesnotesapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in mode (app.virtualThreads=true) that runs every request, and the transactional service calls made on it,
+ * on a virtual thread of its own instead of the Tomcat worker pool. Virtual threads need Java 21, on older
+ * runtimes a warning is logged and the worker pool is kept.
+ * <p>
+ * Without the worker pool limit, the connection pool is what bounds concurrent database work, so when virtual
+ * threads are available it is sized here as well: app.virtualThreadConnectionPoolSize, by default twice the
+ * processor count plus one. The MySQL driver holds monitors during socket reads, which pins the carrier thread,
+ * so the scheduler should get at least as many carriers as there are connections. That is a JVM setting, pass
+ * -Djdk.virtualThreadScheduler.parallelism=&lt;pool size&gt; on the command line.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.virtualThreads", havingValue = "true")
+public class VirtualThreadConfiguration implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+    private static final String SCHEDULER_PARALLELISM = "jdk.virtualThreadScheduler.parallelism";
+
+    private final int connectionPoolSize;
+    private ExecutorService requestExecutor;
+
+    public VirtualThreadConfiguration(@Value("${app.virtualThreadConnectionPoolSize:0}") int connectionPoolSize) {
+        this.connectionPoolSize = connectionPoolSize(connectionPoolSize);
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadRequestCustomizer() {
+        return protocolHandler -> {
+            requestExecutor = newVirtualThreadPerTaskExecutor();
+            if (requestExecutor != null) {
+                protocolHandler.setExecutor(requestExecutor);
+                logger.info("Requests run on virtual threads, connection pool size {}", connectionPoolSize);
+
+                if (System.getProperty(SCHEDULER_PARALLELISM) == null
+                        && connectionPoolSize > Runtime.getRuntime().availableProcessors()) {
+                    logger.warn("The connection pool is larger than the virtual thread scheduler, "
+                            + "start the JVM with -D{}={}", SCHEDULER_PARALLELISM, connectionPoolSize);
+                }
+            }
+        };
+    }
+
+    // sizes the pool before other post processors, such as the SQL log, wrap the data source
+    @Bean
+    public static BeanPostProcessor virtualThreadConnectionPoolSizer(
+            @Value("${app.virtualThreadConnectionPoolSize:0}") int connectionPoolSize) {
+        int poolSize = connectionPoolSize(connectionPoolSize);
+        boolean resize = virtualThreadsAvailable();
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (resize && bean instanceof HikariDataSource dataSource) {
+                    dataSource.setMaximumPoolSize(poolSize);
+                    if (dataSource.getMinimumIdle() > poolSize) {
+                        dataSource.setMinimumIdle(poolSize);
+                    }
+                }
+
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void destroy() {
+        if (requestExecutor != null) {
+            requestExecutor.shutdown();
+        }
+    }
+
+    static int connectionPoolSize(int configured) {
+        return configured > 0 ? configured : Runtime.getRuntime().availableProcessors() * 2 + 1;
+    }
+
+    /**
+     * @return whether the runtime can start virtual threads, i.e. whether the request executor will be created
+     */
+    public static boolean virtualThreadsAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return an executor starting a virtual thread per task, or null when the runtime has no virtual threads
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            logger.warn("Virtual threads need Java 21, requests stay on the worker pool (running {})",
+                    Runtime.version());
+        } catch (InvocationTargetException | IllegalAccessException e) {
+            logger.warn("Virtual threads are not available, requests stay on the worker pool: {}",
+                    e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+        }
+
+        return null;
+    }
+}
@@ -5,20 +5,36 @@ import com.example.sharesnotesapp.model.Note;
 import com.example.sharesnotesapp.model.User;
 import com.example.sharesnotesapp.model.dto.mapper.NoteMapper;
 import com.example.sharesnotesapp.model.dto.request.NoteRequestDto;
+import com.example.sharesnotesapp.model.dto.response.NoteImportResponseDto;
+import com.example.sharesnotesapp.model.dto.response.NotePageResponseDto;
 import com.example.sharesnotesapp.model.dto.response.NoteResponseDto;
+import com.example.sharesnotesapp.repository.projection.NoteRow;
+import com.example.sharesnotesapp.service.note.NoteExport;
+import com.example.sharesnotesapp.service.note.NoteImportService;
+import com.example.sharesnotesapp.service.note.NoteReadService;
+import com.example.sharesnotesapp.service.note.NoteRowPage;
 import com.example.sharesnotesapp.service.note.NoteService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.persistence.EntityNotFoundException;
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.time.LocalDate;
 import java.util.List;
@@ -28,19 +44,26 @@ import java.util.List;
 @RequestMapping("/notes")
 public class NoteController {
     private final NoteService noteService;
+    private final NoteReadService noteReadService;
+    private final NoteImportService noteImportService;
     private final NoteMapper mapper;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public NoteController(NoteService noteService, NoteMapper mapper) {
+    public NoteController(NoteService noteService, NoteReadService noteReadService,
+                          NoteImportService noteImportService, NoteMapper mapper, ObjectMapper objectMapper) {
         this.noteService = noteService;
+        this.noteReadService = noteReadService;
+        this.noteImportService = noteImportService;
         this.mapper = mapper;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<NoteResponseDto> getNoteById(@PathVariable Long id) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication.isAuthenticated() && authentication.getPrincipal() instanceof User) {
-            Note note = noteService.getNoteById(id).orElseThrow((() -> new EntityNotFoundException("No note with such id")));
+            NoteRow note = noteReadService.getNoteById(id);
 
             return ResponseEntity.ok(mapper.toDto(note));
         }
@@ -60,6 +83,16 @@ public class NoteController {
         return ResponseEntity.badRequest().build();
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<NoteImportResponseDto> importNotes(HttpServletRequest request) throws IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.isAuthenticated() && authentication.getPrincipal() instanceof User user) {
+            return ResponseEntity.ok(noteImportService.importNotes(user.getId(), request.getInputStream()));
+        }
+
+        return ResponseEntity.badRequest().build();
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteNote(@PathVariable Long id) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -88,7 +121,7 @@ public class NoteController {
     public ResponseEntity<List<NoteResponseDto>> getAllNotesByUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication.isAuthenticated() && authentication.getPrincipal() instanceof User user) {
-            List<Note> notes = noteService.getNotesByUser(user);
+            List<NoteRow> notes = noteReadService.getNotesByUser(user);
 
             return ResponseEntity.ok(notes.stream().map(mapper::toDto).toList());
         }
@@ -100,7 +133,7 @@ public class NoteController {
     public ResponseEntity<List<NoteResponseDto>> getNotesFilteredByTitle(@RequestParam(defaultValue = "") String string) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication.isAuthenticated() && authentication.getPrincipal() instanceof User user) {
-            List<Note> filteredNotes = noteService.getFilteredNotesByTitle(user, string);
+            List<NoteRow> filteredNotes = noteReadService.getFilteredNotesByTitle(user, string);
 
             return ResponseEntity.ok(filteredNotes.stream().map(mapper::toDto).toList());
         }
@@ -108,11 +141,51 @@ public class NoteController {
         return ResponseEntity.badRequest().build();
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<NotePageResponseDto> getNotesPage(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer size) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.isAuthenticated() && authentication.getPrincipal() instanceof User user) {
+            NoteRowPage page = noteReadService.getNotesPage(user, cursor, size);
+
+            return ResponseEntity.ok(new NotePageResponseDto(page.notes().stream().map(mapper::toDto).toList(), page.nextCursor()));
+        }
+
+        return ResponseEntity.badRequest().build();
+    }
+
+    @GetMapping("/filter/page")
+    public ResponseEntity<NotePageResponseDto> getNotesFilteredByTitlePage(@RequestParam(defaultValue = "") String string,
+                                                                           @RequestParam(required = false) String cursor,
+                                                                           @RequestParam(required = false) Integer size) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.isAuthenticated() && authentication.getPrincipal() instanceof User user) {
+            NoteRowPage page = noteReadService.getFilteredNotesPage(user, string, cursor, size);
+
+            return ResponseEntity.ok(new NotePageResponseDto(page.notes().stream().map(mapper::toDto).toList(), page.nextCursor()));
+        }
+
+        return ResponseEntity.badRequest().build();
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<NoteResponseDto>> searchNotes(@RequestParam(defaultValue = "") String query,
+                                                             @RequestParam(required = false) Integer limit) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.isAuthenticated() && authentication.getPrincipal() instanceof User user) {
+            List<NoteRow> notes = noteReadService.searchNotes(user, query, limit);
+
+            return ResponseEntity.ok(notes.stream().map(mapper::toDto).toList());
+        }
+
+        return ResponseEntity.badRequest().build();
+    }
+
     @GetMapping("/latest")
     public ResponseEntity<List<NoteResponseDto>> getLatestNotes(){
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication.isAuthenticated() && authentication.getPrincipal() instanceof User user) {
-            List<Note> latestNotes = noteService.getLatestNotes(user);
+            List<NoteRow> latestNotes = noteReadService.getLatestNotes(user);
 
             return ResponseEntity.ok(latestNotes.stream().map(mapper::toDto).toList());
         }
@@ -126,8 +199,8 @@ public class NoteController {
              @RequestParam("endDate") @DateTimeFormat(fallbackPatterns = "dd-MM-yyyy") LocalDate endDate){
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication.isAuthenticated() && authentication.getPrincipal() instanceof User) {
-            List<Note> notes = noteService.getNotesBetweenDates(startDate, endDate);
+        if (authentication.isAuthenticated() && authentication.getPrincipal() instanceof User user) {
+            List<NoteRow> notes = noteReadService.getNotesBetweenDates(user, startDate, endDate);
 
             return ResponseEntity.ok(notes.stream().map(mapper::toDto).toList());
         }
@@ -135,30 +208,79 @@ public class NoteController {
         return ResponseEntity.badRequest().build();
     }
 
+    @GetMapping("/dates/page")
+    public ResponseEntity<NotePageResponseDto> getNotesBetweenDatesPage
+            (@RequestParam("startDate") @DateTimeFormat(fallbackPatterns = "dd-MM-yyyy") LocalDate startDate,
+             @RequestParam("endDate") @DateTimeFormat(fallbackPatterns = "dd-MM-yyyy") LocalDate endDate,
+             @RequestParam(required = false) String cursor,
+             @RequestParam(required = false) Integer size) {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.isAuthenticated() && authentication.getPrincipal() instanceof User user) {
+            NoteRowPage page = noteReadService.getNotesBetweenDatesPage(user, startDate, endDate, cursor, size);
+
+            return ResponseEntity.ok(new NotePageResponseDto(page.notes().stream().map(mapper::toDto).toList(), page.nextCursor()));
+        }
+
+        return ResponseEntity.badRequest().build();
+    }
+
+    @GetMapping(value = "/dates/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamNotesBetweenDates
+            (@RequestParam("startDate") @DateTimeFormat(fallbackPatterns = "dd-MM-yyyy") LocalDate startDate,
+             @RequestParam("endDate") @DateTimeFormat(fallbackPatterns = "dd-MM-yyyy") LocalDate endDate) {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.isAuthenticated() && authentication.getPrincipal() instanceof User user) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(outputStream -> {
+                        try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(outputStream)) {
+                            noteReadService.streamNotesBetweenDates(user, startDate, endDate, row -> {
+                                try {
+                                    writer.write(mapper.toDto(row));
+                                } catch (IOException e) {
+                                    throw new UncheckedIOException(e);
+                                }
+                            });
+                        }
+                    });
+        }
+
+        return ResponseEntity.badRequest().build();
+    }
+
     @GetMapping("/{id}/download")
-    public ResponseEntity<byte[]> downloadNote(@PathVariable Long id, @RequestParam String type) {
+    public ResponseEntity<Resource> downloadNote(@PathVariable Long id, @RequestParam String type) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication.isAuthenticated() && authentication.getPrincipal() instanceof User) {
             Note note = noteService.getNoteById(id).orElseThrow(EntityNotFoundException::new);
-            byte[] fileContent = new byte[0];
-
-            if (FileType.valueOf(type).equals(FileType.txt)) {
-                fileContent = noteService.createTextFileContent(note).getBytes();
-            } else if (FileType.valueOf(type).equals(FileType.pdf)) {
-                fileContent = noteService.createPdfContent(note);
-            } else if (FileType.valueOf(type).equals(FileType.docx)) {
-                fileContent = noteService.createDocxContent(note);
-            }
-            else {
-                ResponseEntity.badRequest().build();
-            }
+            NoteExport export = noteService.exportNote(note, FileType.valueOf(type));
+
+            HttpHeaders headers = noteService.downloadNote(export);
+            headers.add("Access-Control-Expose-Headers", "Content-Disposition");
+
+            return ResponseEntity.ok()
+                    .headers(headers)
+                    .body(new InputStreamResource(export.openStream()));
+        }
+
+        return ResponseEntity.badRequest().build();
+    }
+
+    @GetMapping("/{id}/download/stream")
+    public ResponseEntity<StreamingResponseBody> streamNote(@PathVariable Long id, @RequestParam String type) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.isAuthenticated() && authentication.getPrincipal() instanceof User) {
+            Note note = noteService.getNoteById(id).orElseThrow(EntityNotFoundException::new);
+            FileType fileType = FileType.valueOf(type);
 
-            HttpHeaders headers = noteService.downloadNote(note, FileType.valueOf(type));
+            HttpHeaders headers = noteService.streamNoteHeaders(note, fileType);
             headers.add("Access-Control-Expose-Headers", "Content-Disposition");
 
             return ResponseEntity.ok()
                     .headers(headers)
-                    .body(fileContent);
+                    .body(outputStream -> noteService.writeNoteContent(note, fileType, outputStream));
         }
 
         return ResponseEntity.badRequest().build();
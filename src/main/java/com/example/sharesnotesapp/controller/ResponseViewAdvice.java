@@ -0,0 +1,44 @@
+package com.example.sharesnotesapp.controller;
+
+import com.example.sharesnotesapp.model.dto.response.Views;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Serializes note and share responses with the {@link Views.Compact} view when the request has view=compact,
+ * leaving out the owner details and friend lists. The parameter is checked before the handler runs, so a request
+ * with an unknown view is rejected without changing anything.
+ */
+@ControllerAdvice(assignableTypes = {NoteController.class, ShareController.class})
+public class ResponseViewAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+    public static final String VIEW_PARAM = "view";
+    public static final String COMPACT_VIEW = "compact";
+    public static final String FULL_VIEW = "full";
+
+    @ModelAttribute
+    public void validateView(@RequestParam(name = VIEW_PARAM, required = false) String view) {
+        if (view != null && !view.equals(COMPACT_VIEW) && !view.equals(FULL_VIEW)) {
+            throw new IllegalArgumentException(String.format("Unknown view %s, use %s or %s", view, COMPACT_VIEW, FULL_VIEW));
+        }
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+
+        if (COMPACT_VIEW.equals(servletRequest.getServletRequest().getParameter(VIEW_PARAM))) {
+            bodyContainer.setSerializationView(Views.Compact.class);
+        }
+    }
+}
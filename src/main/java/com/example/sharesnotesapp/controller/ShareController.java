@@ -3,7 +3,11 @@ package com.example.sharesnotesapp.controller;
 import com.example.sharesnotesapp.model.Share;
 import com.example.sharesnotesapp.model.User;
 import com.example.sharesnotesapp.model.dto.mapper.ShareMapper;
+import com.example.sharesnotesapp.model.dto.request.ShareBulkRequestDto;
 import com.example.sharesnotesapp.model.dto.response.ShareResponseDto;
+import com.example.sharesnotesapp.model.dto.response.ShareResultDto;
+import com.example.sharesnotesapp.repository.projection.ShareRow;
+import com.example.sharesnotesapp.service.share.ShareReadService;
 import com.example.sharesnotesapp.service.share.ShareService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -12,6 +16,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.validation.Valid;
 import java.net.URI;
 import java.util.List;
 
@@ -19,11 +24,13 @@ import java.util.List;
 @RequestMapping("/share")
 public class ShareController {
     private final ShareService shareService;
+    private final ShareReadService shareReadService;
     private final ShareMapper mapper;
 
     @Autowired
-    public ShareController(ShareService shareService, ShareMapper mapper) {
+    public ShareController(ShareService shareService, ShareReadService shareReadService, ShareMapper mapper) {
         this.shareService = shareService;
+        this.shareReadService = shareReadService;
         this.mapper = mapper;
     }
 
@@ -40,6 +47,17 @@ public class ShareController {
         return ResponseEntity.badRequest().build();
     }
 
+    @PostMapping("/{noteId}/bulk")
+    public ResponseEntity<List<ShareResultDto>> shareNoteWithAll(@PathVariable Long noteId,
+                                                                 @RequestBody @Valid ShareBulkRequestDto shareBulkRequestDto) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.isAuthenticated() && authentication.getPrincipal() instanceof User user) {
+            return ResponseEntity.ok(shareService.shareNoteWithAll(user, shareBulkRequestDto.getReceiverEmails(), noteId));
+        }
+
+        return ResponseEntity.badRequest().build();
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ShareResponseDto> getShareById(@PathVariable Long id) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -56,7 +74,7 @@ public class ShareController {
     public ResponseEntity<List<ShareResponseDto>> getSharedNotesBetweenUsers(@RequestParam(defaultValue = "") String receiverEmail) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication.isAuthenticated() && authentication.getPrincipal() instanceof User user) {
-            List<Share> shareList = shareService.getAllSharedNotesBetweenUsers(user, receiverEmail);
+            List<ShareRow> shareList = shareReadService.getAllSharedNotesBetweenUsers(user, receiverEmail);
 
             return ResponseEntity.ok(shareList.stream().map(mapper::toDto).toList());
         }
@@ -68,7 +86,7 @@ public class ShareController {
     public ResponseEntity<List<ShareResponseDto>> getReceivedNotesBetweenUsers(@RequestParam(defaultValue = "") String senderEmail) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication.isAuthenticated() && authentication.getPrincipal() instanceof User user) {
-            List<Share> shareList = shareService.getAllReceivedNotesBetweenUsers(user, senderEmail);
+            List<ShareRow> shareList = shareReadService.getAllReceivedNotesBetweenUsers(user, senderEmail);
 
             return ResponseEntity.ok(shareList.stream().map(mapper::toDto).toList());
         }
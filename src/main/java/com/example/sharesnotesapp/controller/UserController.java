@@ -4,6 +4,7 @@ import com.example.sharesnotesapp.model.User;
 import com.example.sharesnotesapp.model.dto.mapper.UserMapper;
 import com.example.sharesnotesapp.model.dto.request.UserNameDto;
 import com.example.sharesnotesapp.model.dto.response.UserResponseDto;
+import com.example.sharesnotesapp.service.user.UserResponseCache;
 import com.example.sharesnotesapp.service.user.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -22,18 +23,21 @@ import java.util.stream.Collectors;
 public class UserController {
     private final UserService userService;
     private final UserMapper mapper;
+    private final UserResponseCache userResponseCache;
 
     @Autowired
-    public UserController(UserService userService, UserMapper mapper) {
+    public UserController(UserService userService, UserMapper mapper, UserResponseCache userResponseCache) {
         this.userService = userService;
         this.mapper = mapper;
+        this.userResponseCache = userResponseCache;
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<UserResponseDto> getUserById(@PathVariable Long id) {
-        User user = userService.getUserById(id).orElseThrow(EntityNotFoundException::new);
+        UserResponseDto user = userResponseCache.get(id,
+                key -> mapper.toDto(userService.getUserById(key).orElseThrow(EntityNotFoundException::new)));
 
-        return ResponseEntity.ok(mapper.toDto(user));
+        return ResponseEntity.ok(user);
     }
 
     @PatchMapping("/{id}")
@@ -0,0 +1,150 @@
+package com.example.sharesnotesapp.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs executed statements from a background thread instead of the request thread.
+ * Statements slower than the slow threshold are always logged with their bind values, the others only for
+ * the sampled share of executions, without bind values. Entries wait in a bounded ring buffer that drops
+ * new entries while it is full, so a slow sink never holds up a query.
+ */
+@Component
+public class AsyncSqlLogger implements QueryExecutionListener, MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncSqlLogger.class);
+
+    private final double sampleRate;
+    private final long slowThresholdMs;
+    private final BlockingQueue<SqlLogEntry> entries;
+    private final AtomicLong dropped = new AtomicLong();
+    private Thread writer;
+
+    /**
+     * @param sampleRate      - share of executions logged, between 0 and 1
+     * @param slowThresholdMs - executions taking at least this long are always logged, zero disables it
+     * @param queueCapacity   - entries waiting to be written before new ones are dropped
+     */
+    public AsyncSqlLogger(@Value("${app.sqlLogSampleRate:0}") double sampleRate,
+                          @Value("${app.slowQueryThresholdMs:500}") long slowThresholdMs,
+                          @Value("${app.sqlLogQueueCapacity:10000}") int queueCapacity) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdMs = slowThresholdMs;
+        this.entries = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public boolean isEnabled() {
+        return sampleRate > 0 || slowThresholdMs > 0;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        writer = new Thread(this::write, "sql-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer != null) {
+            writer.interrupt();
+            writer.join(1000);
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        boolean slow = slowThresholdMs > 0 && execInfo.getElapsedTime() >= slowThresholdMs;
+        if (!slow && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+
+        List<String> queries = new ArrayList<>(queryInfoList.size());
+        List<List<Object>> bindValues = slow ? new ArrayList<>() : null;
+        for (QueryInfo queryInfo : queryInfoList) {
+            queries.add(queryInfo.getQuery());
+            if (slow) {
+                queryInfo.getParametersList().forEach(parameters -> bindValues.add(bindValues(parameters)));
+            }
+        }
+
+        SqlLogEntry entry = new SqlLogEntry(Thread.currentThread().getName(), execInfo.getElapsedTime(),
+                execInfo.isSuccess(), execInfo.isBatch() ? execInfo.getBatchSize() : 0, queries, bindValues);
+        if (!entries.offer(entry)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("sql.log.dropped", dropped, AtomicLong::get)
+                .register(registry);
+        Gauge.builder("sql.log.queue.size", entries, BlockingQueue::size)
+                .register(registry);
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    private static List<Object> bindValues(List<ParameterSetOperation> parameters) {
+        List<Object> values = new ArrayList<>(parameters.size());
+        for (ParameterSetOperation parameter : parameters) {
+            values.add(ParameterSetOperation.isSetNullParameterOperation(parameter) ? null : parameter.getArgs()[1]);
+        }
+
+        return values;
+    }
+
+    private void write() {
+        try {
+            while (true) {
+                entries.take().log(logger);
+            }
+        } catch (InterruptedException e) {
+            // flush what is left before the application stops
+            List<SqlLogEntry> remaining = new ArrayList<>();
+            entries.drainTo(remaining);
+            remaining.forEach(entry -> entry.log(logger));
+        }
+    }
+
+    private record SqlLogEntry(String thread, long elapsedMs, boolean success, int batchSize,
+                               List<String> queries, List<List<Object>> bindValues) {
+        void log(Logger logger) {
+            String batch = batchSize > 0 ? " batch of " + batchSize : "";
+            String failed = success ? "" : " failed";
+            String values = bindValues != null ? " " + bindValues : "";
+            logger.info("[{}] {} ms{}{}: {}{}", thread, elapsedMs, batch, failed, String.join("; ", queries), values);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.sharesnotesapp.metrics;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+
+/**
+ * Counts every entity hibernate loads, from the database or the second-level cache, into the
+ * {@link RequestStatistics} of the current request.
+ */
+public class EntityLoadCountingInterceptor extends EmptyInterceptor {
+    @Override
+    public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.entityLoaded();
+        }
+
+        return false;
+    }
+}
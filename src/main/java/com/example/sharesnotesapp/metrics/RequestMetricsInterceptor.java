@@ -0,0 +1,113 @@
+package com.example.sharesnotesapp.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Records the statements and entity loads of every handled request as "http.server.requests.statements" and
+ * "http.server.requests.entity.loads", tagged like the request timers. Queries made before the handler runs,
+ * e.g. while authenticating, are not part of the request. Asynchronous responses are recorded once, with the
+ * statements of the handler, when concurrent handling starts; the ASYNC dispatch that completes them is skipped.
+ * <p>
+ * Requests running more statements than the statement threshold, or preparing one statement shape more
+ * often than the repeated statement threshold (an N+1 select), are logged with their handler and counted
+ * as "http.server.requests.flagged", tagged with the reason.
+ */
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+    public static final String STATEMENTS_METRIC = "http.server.requests.statements";
+    public static final String ENTITY_LOADS_METRIC = "http.server.requests.entity.loads";
+    public static final String FLAGGED_METRIC = "http.server.requests.flagged";
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestMetricsInterceptor.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int statementThreshold;
+    private final int repeatedStatementThreshold;
+
+    public RequestMetricsInterceptor(MeterRegistry meterRegistry, int statementThreshold, int repeatedStatementThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.statementThreshold = statementThreshold;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    /**
+     * @return the controller and method handling the request, e.g. "NoteController#getNotesPage"
+     */
+    public static String handlerName(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+        }
+
+        return "none";
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            RequestStatistics.start();
+        }
+
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // the response is completed on another thread, which is not counted
+        record(request, handler);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            record(request, handler);
+        }
+    }
+
+    private void record(HttpServletRequest request, Object handler) {
+        RequestStatistics statistics = RequestStatistics.end();
+        if (statistics == null) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of(
+                "method", request.getMethod(),
+                "uri", pattern != null ? pattern.toString() : "UNKNOWN",
+                "handler", handlerName(handler));
+
+        summary(STATEMENTS_METRIC, "statements", tags).record(statistics.getStatements());
+        summary(ENTITY_LOADS_METRIC, "entities", tags).record(statistics.getEntityLoads());
+
+        if (statistics.getStatements() > statementThreshold) {
+            logger.warn("{} {} handled by {} ran {} statements",
+                    request.getMethod(), request.getRequestURI(), handlerName(handler), statistics.getStatements());
+            Counter.builder(FLAGGED_METRIC).tags(tags).tag("reason", "statements").register(meterRegistry).increment();
+        }
+        if (statistics.getMaxRepeats() > repeatedStatementThreshold) {
+            logger.warn("{} {} handled by {} prepared the same statement {} times, possibly an N+1 select: {}",
+                    request.getMethod(), request.getRequestURI(), handlerName(handler), statistics.getMaxRepeats(),
+                    statistics.getMostRepeatedStatement());
+            Counter.builder(FLAGGED_METRIC).tags(tags).tag("reason", "repeated-statements").register(meterRegistry).increment();
+        }
+    }
+
+    private DistributionSummary summary(String name, String unit, Tags tags) {
+        return DistributionSummary.builder(name)
+                .baseUnit(unit)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(1000d)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.sharesnotesapp.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Statements prepared and entities loaded by hibernate on the current thread while a request is handled.
+ * Counting only happens between {@link #start()} and {@link #end()}, other work on the thread is not counted.
+ * Statements differing only in their literals or in the length of an IN list have the same shape, the same
+ * shape prepared many times over is the signature of an N+1 select.
+ */
+public final class RequestStatistics {
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    private final Map<String, Integer> statementShapes = new HashMap<>();
+    private int statements;
+    private int entityLoads;
+    private int maxRepeats;
+    private String mostRepeatedStatement;
+
+    private RequestStatistics() {
+    }
+
+    public static RequestStatistics start() {
+        RequestStatistics statistics = new RequestStatistics();
+        CURRENT.set(statistics);
+
+        return statistics;
+    }
+
+    /**
+     * @return the statistics of the request handled on this thread, or null if none is
+     */
+    public static RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return the statistics of the request handled on this thread, or null if none was started
+     */
+    public static RequestStatistics end() {
+        RequestStatistics statistics = CURRENT.get();
+        CURRENT.remove();
+
+        return statistics;
+    }
+
+    /**
+     * Counts the statements prepared while the work runs on this thread, e.g. to assert in a test that a
+     * listing does not select its associations one by one. Statements of an enclosing request are not
+     * counted meanwhile.
+     */
+    public static RequestStatistics capture(Runnable work) {
+        RequestStatistics enclosing = CURRENT.get();
+        RequestStatistics statistics = start();
+        try {
+            work.run();
+        } finally {
+            if (enclosing != null) {
+                CURRENT.set(enclosing);
+            } else {
+                CURRENT.remove();
+            }
+        }
+
+        return statistics;
+    }
+
+    static String shape(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+
+        return PARAMETER_LIST.matcher(shape).replaceAll("(?)");
+    }
+
+    void statementPrepared(String sql) {
+        statements++;
+
+        String shape = shape(sql);
+        int repeats = statementShapes.merge(shape, 1, Integer::sum);
+        if (repeats > maxRepeats) {
+            maxRepeats = repeats;
+            mostRepeatedStatement = shape;
+        }
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    /**
+     * @return how many times the most repeated statement shape was prepared, 1 when none was repeated
+     */
+    public int getMaxRepeats() {
+        return maxRepeats;
+    }
+
+    /**
+     * @return the shape of the most repeated statement, or null if no statement was prepared
+     */
+    public String getMostRepeatedStatement() {
+        return mostRepeatedStatement;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.sharesnotesapp.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every statement hibernate prepares into the {@link RequestStatistics} of the current request.
+ */
+public class StatementCountingInspector implements StatementInspector {
+    @Override
+    public String inspect(String sql) {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.statementPrepared(sql);
+        }
+
+        return sql;
+    }
+}
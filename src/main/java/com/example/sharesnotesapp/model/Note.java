@@ -1,29 +1,39 @@
 package com.example.sharesnotesapp.model;
 
+import com.example.sharesnotesapp.config.SecondLevelCacheConfiguration;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Cascade;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.time.LocalDate;
 import java.util.Date;
 
 @Entity
-@Table(name = "notes")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfiguration.NOTES_REGION)
+@Table(name = "notes", indexes = {
+        @Index(name = "notes_user_date_id", columnList = "user_id, date, id")})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class Note {
     @Id
-    @SequenceGenerator(
+    @GenericGenerator(
             name = "note_sequence",
-            sequenceName = "note_sequence",
-            allocationSize = 1
+            strategy = "com.example.sharesnotesapp.model.id.PooledSequenceGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name", value = "note_sequence"),
+                    @Parameter(name = "allocation_size_key", value = "note")
+            }
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
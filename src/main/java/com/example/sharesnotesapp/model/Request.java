@@ -1,8 +1,10 @@
 package com.example.sharesnotesapp.model;
 
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.Parameter;
 import org.springframework.beans.factory.annotation.Value;
 
 import javax.persistence.*;
@@ -10,17 +12,21 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "requests")
+@Table(name = "requests", indexes = {
+        @Index(name = "requests_sender_receiver_status", columnList = "sender_id, receiver_id, status")})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class Request {
     @Id
-    @SequenceGenerator(
+    @GenericGenerator(
             name = "req_sequence",
-            sequenceName = "req_sequence",
-            allocationSize = 1
+            strategy = "com.example.sharesnotesapp.model.id.PooledSequenceGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name", value = "req_sequence"),
+                    @Parameter(name = "allocation_size_key", value = "request")
+            }
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
@@ -4,8 +4,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.time.LocalDate;
@@ -18,10 +20,13 @@ import java.time.LocalDate;
 @Builder
 public class Share {
     @Id
-    @SequenceGenerator(
+    @GenericGenerator(
             name = "share_sequence",
-            sequenceName = "share_sequence",
-            allocationSize = 1
+            strategy = "com.example.sharesnotesapp.model.id.PooledSequenceGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name", value = "share_sequence"),
+                    @Parameter(name = "allocation_size_key", value = "share")
+            }
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
@@ -1,17 +1,23 @@
 package com.example.sharesnotesapp.model;
 
+import com.example.sharesnotesapp.config.SecondLevelCacheConfiguration;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import javax.persistence.*;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfiguration.USERS_REGION)
 @Table(name = "users", uniqueConstraints = {
         @UniqueConstraint(name = "email_unique", columnNames = "email")})
 @Getter
@@ -21,10 +27,13 @@ import java.util.List;
 @Builder
 public class User implements UserDetails {
     @Id
-    @SequenceGenerator(
+    @GenericGenerator(
             name = "user_sequence",
-            sequenceName = "user_sequence",
-            allocationSize = 1
+            strategy = "com.example.sharesnotesapp.model.id.PooledSequenceGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name", value = "user_sequence"),
+                    @Parameter(name = "allocation_size_key", value = "user")
+            }
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
@@ -47,9 +56,11 @@ public class User implements UserDetails {
     private String password;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfiguration.FRIEND_LISTS_REGION)
     @JoinTable(name = "user_friends", joinColumns = @JoinColumn(name = "user_id"),
-            inverseJoinColumns = @JoinColumn(name = "friend_id"))
-    private List<User> friendList = new ArrayList<>();
+            inverseJoinColumns = @JoinColumn(name = "friend_id"),
+            uniqueConstraints = @UniqueConstraint(name = "user_friends_unique", columnNames = {"user_id", "friend_id"}))
+    private Set<User> friendList = new HashSet<>();
 
     public User(Long id, String firstName, String lastName, String email, String password) {
         this.id = id;
@@ -57,7 +68,7 @@ public class User implements UserDetails {
         this.lastName = lastName;
         this.email = email;
         this.password = password;
-        this.friendList = new ArrayList<>();
+        this.friendList = new HashSet<>();
     }
 
     @Override
@@ -1,10 +1,34 @@
 package com.example.sharesnotesapp.model.dto.mapper;
 
 import com.example.sharesnotesapp.model.Note;
+import com.example.sharesnotesapp.model.User;
 import com.example.sharesnotesapp.model.dto.response.NoteResponseDto;
+import com.example.sharesnotesapp.model.dto.response.UserResponseDto;
+import com.example.sharesnotesapp.repository.projection.NoteRow;
 import org.mapstruct.Mapper;
 
 @Mapper(componentModel = "spring")
 public interface NoteMapper {
     NoteResponseDto toDto(Note note);
+
+    default NoteResponseDto toDto(NoteRow row) {
+        if (row == null) {
+            return null;
+        }
+
+        UserResponseDto user = new UserResponseDto(row.userId(), row.userFirstName(), row.userLastName(), row.userEmail());
+
+        return new NoteResponseDto(user, row.id(), row.title(), row.text(), row.date(), row.grade());
+    }
+
+    /**
+     * The owner of a note is embedded without the friend list, which only /user/{id} serves
+     */
+    default UserResponseDto toOwnerDto(User user) {
+        if (user == null) {
+            return null;
+        }
+
+        return new UserResponseDto(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail());
+    }
 }
@@ -2,12 +2,40 @@ package com.example.sharesnotesapp.model.dto.mapper;
 
 import com.example.sharesnotesapp.model.Note;
 import com.example.sharesnotesapp.model.Share;
+import com.example.sharesnotesapp.model.User;
 import com.example.sharesnotesapp.model.dto.response.NoteResponseDto;
 import com.example.sharesnotesapp.model.dto.response.ShareResponseDto;
+import com.example.sharesnotesapp.model.dto.response.UserInfoDto;
+import com.example.sharesnotesapp.model.dto.response.UserResponseDto;
+import com.example.sharesnotesapp.repository.projection.ShareRow;
 import org.mapstruct.Mapper;
 
 @Mapper(componentModel = "spring")
 public interface ShareMapper {
     ShareResponseDto toDto(Share share);
     NoteResponseDto toNoteDto(Note note);
+
+    default ShareResponseDto toDto(ShareRow row) {
+        if (row == null) {
+            return null;
+        }
+
+        UserInfoDto sender = new UserInfoDto(row.senderId(), row.senderFirstName(), row.senderLastName(), row.senderEmail());
+        UserInfoDto receiver = new UserInfoDto(row.receiverId(), row.receiverFirstName(), row.receiverLastName(), row.receiverEmail());
+        UserResponseDto owner = new UserResponseDto(row.ownerId(), row.ownerFirstName(), row.ownerLastName(), row.ownerEmail());
+        NoteResponseDto sentNote = new NoteResponseDto(owner, row.noteId(), row.noteTitle(), row.noteText(), row.noteDate(), row.noteGrade());
+
+        return new ShareResponseDto(row.id(), sender, receiver, sentNote, row.sentAt());
+    }
+
+    /**
+     * The owner of a shared note is embedded without the friend list, which only /user/{id} serves
+     */
+    default UserResponseDto toOwnerDto(User user) {
+        if (user == null) {
+            return null;
+        }
+
+        return new UserResponseDto(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail());
+    }
 }
@@ -6,6 +6,7 @@ import com.example.sharesnotesapp.model.dto.response.UserResponseDto;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.util.Comparator;
 import java.util.List;
 
 @Mapper(componentModel = "spring")
@@ -22,7 +23,9 @@ public interface UserMapper {
                 .email(user.getEmail());
 
         if (user.getFriendList() != null) {
-            List<UserInfoDto> friendDtos = toUserDtoList(user.getFriendList());
+            List<UserInfoDto> friendDtos = toUserDtoList(user.getFriendList().stream()
+                    .sorted(Comparator.comparing(User::getLastName))
+                    .toList());
             dtoBuilder.friends(friendDtos);
         }
 
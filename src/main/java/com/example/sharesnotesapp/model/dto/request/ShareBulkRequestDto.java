@@ -0,0 +1,12 @@
+package com.example.sharesnotesapp.model.dto.request;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+@Data
+public class ShareBulkRequestDto {
+    @NotEmpty(message = "Receiver emails should not be empty")
+    private List<String> receiverEmails;
+}
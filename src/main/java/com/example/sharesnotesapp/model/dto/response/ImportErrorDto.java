@@ -0,0 +1,15 @@
+package com.example.sharesnotesapp.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ImportErrorDto {
+    // position of the item in the imported array or stream, starting at 0
+    @JsonView(Views.Compact.class)
+    private int index;
+    @JsonView(Views.Compact.class)
+    private String message;
+}
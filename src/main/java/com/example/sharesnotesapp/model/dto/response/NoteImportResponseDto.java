@@ -0,0 +1,21 @@
+package com.example.sharesnotesapp.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class NoteImportResponseDto {
+    @JsonView(Views.Compact.class)
+    private int imported;
+    @JsonView(Views.Compact.class)
+    private int failed;
+    // items past app.noteImportMaxItems, neither imported nor validated
+    @JsonView(Views.Compact.class)
+    private int skipped;
+    @JsonView(Views.Compact.class)
+    private List<ImportErrorDto> errors;
+}
@@ -0,0 +1,16 @@
+package com.example.sharesnotesapp.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class NotePageResponseDto {
+    @JsonView(Views.Compact.class)
+    private List<NoteResponseDto> notes;
+    @JsonView(Views.Compact.class)
+    private String nextCursor;
+}
@@ -1,6 +1,7 @@
 package com.example.sharesnotesapp.model.dto.response;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonView;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -10,11 +11,17 @@ import java.util.Date;
 @Data
 @AllArgsConstructor
 public class NoteResponseDto {
+    @JsonView(Views.Compact.class)
     private UserResponseDto user;
+    @JsonView(Views.Compact.class)
     private Long id;
+    @JsonView(Views.Compact.class)
     private String title;
+    @JsonView(Views.Compact.class)
     private String text;
+    @JsonView(Views.Compact.class)
     @JsonFormat(pattern = "dd-MM-yyyy")
     private LocalDate date;
+    @JsonView(Views.Compact.class)
     private Integer grade;
 }
@@ -1,6 +1,7 @@
 package com.example.sharesnotesapp.model.dto.response;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonView;
 import lombok.*;
 
 import java.time.LocalDate;
@@ -11,10 +12,15 @@ import java.time.LocalDate;
 @Setter
 @Builder
 public class ShareResponseDto {
+    @JsonView(Views.Compact.class)
     private Long id;
+    @JsonView(Views.Compact.class)
     private UserInfoDto sender;
+    @JsonView(Views.Compact.class)
     private UserInfoDto receiver;
+    @JsonView(Views.Compact.class)
     private NoteResponseDto sentNote;
+    @JsonView(Views.Compact.class)
     @JsonFormat(pattern = "dd-MM-yyyy")
     private LocalDate sentAt;
 
@@ -0,0 +1,17 @@
+package com.example.sharesnotesapp.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ShareResultDto {
+    @JsonView(Views.Compact.class)
+    private String receiverEmail;
+    // id of the created share, null if the note was not shared with this receiver
+    @JsonView(Views.Compact.class)
+    private Long shareId;
+    @JsonView(Views.Compact.class)
+    private String error;
+}
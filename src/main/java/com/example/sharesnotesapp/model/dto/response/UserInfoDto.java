@@ -1,5 +1,6 @@
 package com.example.sharesnotesapp.model.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonView;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -10,6 +11,7 @@ import lombok.Setter;
 @Builder
 @AllArgsConstructor
 public class UserInfoDto {
+    @JsonView(Views.Compact.class)
     private Long id;
     private String firstName;
     private String lastName;
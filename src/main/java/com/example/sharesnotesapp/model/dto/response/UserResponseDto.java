@@ -1,5 +1,6 @@
 package com.example.sharesnotesapp.model.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonView;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -13,10 +14,12 @@ import java.util.List;
 @Builder
 @AllArgsConstructor
 public class UserResponseDto {
+    @JsonView(Views.Compact.class)
     private Long id;
     private String firstName;
     private String lastName;
     private String email;
+    // filled for the profile served by /user/{id}, empty for users embedded in notes and shares
     private List<UserInfoDto> friends;
 
     public UserResponseDto(Long id, String firstName, String lastName, String email){
@@ -0,0 +1,16 @@
+package com.example.sharesnotesapp.model.dto.response;
+
+/**
+ * Jackson views of the response DTOs, selected with the "view" request parameter. Without it every field is
+ * written, the users embedded in notes and shares then have an empty friend list.
+ */
+public final class Views {
+    /**
+     * Note and share fields with only the ids of the users involved
+     */
+    public interface Compact {
+    }
+
+    private Views() {
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.sharesnotesapp.model.id;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Sequence generator whose allocation size is read from the "app.idAllocationSize.&lt;key&gt;" setting, where the key
+ * is the "allocation_size_key" parameter of the generator, so each entity can reserve a block of ids per round-trip to the sequence (or sequence table on MySQL).
+ * Blocks are handed out with the pooled-lo optimizer: the stored value is the first id of the next block,
+ * which is also what the sequence held with an allocation size of 1, so existing data stays compatible.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+    public static final String ALLOCATION_SIZE_PREFIX = "app.idAllocationSize.";
+    public static final String ALLOCATION_SIZE_KEY_PARAM = "allocation_size_key";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        String sequenceName = params.getProperty(SEQUENCE_PARAM);
+        String key = params.getProperty(ALLOCATION_SIZE_KEY_PARAM, sequenceName);
+        int allocationSize = serviceRegistry.getService(ConfigurationService.class)
+                .getSetting(ALLOCATION_SIZE_PREFIX + key, value -> Integer.valueOf(value.toString()), 1);
+
+        if (allocationSize < 1) {
+            throw new MappingException("Allocation size of " + sequenceName + " must be a positive integer");
+        }
+
+        params.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize));
+        params.setProperty(OPT_PARAM, allocationSize > 1
+                ? StandardOptimizerDescriptor.POOLED_LO.getExternalName()
+                : StandardOptimizerDescriptor.NONE.getExternalName());
+
+        super.configure(type, params, serviceRegistry);
+    }
+}
@@ -2,16 +2,114 @@ package com.example.sharesnotesapp.repository;
 
 import com.example.sharesnotesapp.model.Note;
 import com.example.sharesnotesapp.model.User;
+import com.example.sharesnotesapp.repository.projection.NoteRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface NoteRepository extends JpaRepository<Note, Long> {
+    String NOTE_ROW = "SELECT new com.example.sharesnotesapp.repository.projection.NoteRow(" +
+            "n.id, n.title, n.text, n.date, n.grade, u.id, u.firstName, u.lastName, u.email) " +
+            "FROM Note n JOIN n.user u ";
+
+    interface SearchDocument {
+        Long getId();
+
+        Long getUserId();
+
+        String getTitle();
+
+        String getText();
+    }
+
     List<Note> getNotesByUserOrderByDateDesc(User user);
     List<Note> findAllByUserAndTitleContainsIgnoreCaseOrderByDateDesc(User user, String string);
     List<Note> getFirst5ByUserOrderByDateDesc(User user);
-    List<Note> getNotesByDateBetweenOrderByDateAsc(LocalDate startDate, LocalDate endDate);
+    List<Note> getNotesByUserAndDateBetweenOrderByDateAscIdAsc(User user, LocalDate startDate, LocalDate endDate);
+
+    @Query(NOTE_ROW + "WHERE n.id = :id")
+    Optional<NoteRow> findNoteRowById(@Param("id") Long id);
+
+    @Query(NOTE_ROW + "WHERE n.user = :user ORDER BY n.date DESC")
+    List<NoteRow> findNoteRowsByUser(@Param("user") User user);
+
+    @Query(NOTE_ROW + "WHERE n.user = :user ORDER BY n.date DESC")
+    List<NoteRow> findNoteRowsByUser(@Param("user") User user, Pageable pageable);
+
+    @Query(NOTE_ROW + "WHERE n.user = :user AND LOWER(n.title) LIKE LOWER(CONCAT('%', :string, '%')) ORDER BY n.date DESC")
+    List<NoteRow> findNoteRowsByUserAndTitle(@Param("user") User user, @Param("string") String string);
+
+    @Query(NOTE_ROW + "WHERE n.id IN :ids")
+    List<NoteRow> findNoteRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(NOTE_ROW + "WHERE n.user = :user ORDER BY n.date DESC, n.id DESC")
+    List<NoteRow> findNoteRowsPage(@Param("user") User user, Pageable pageable);
+
+    @Query(NOTE_ROW + "WHERE n.user = :user AND " +
+            "(n.date < :date OR (n.date = :date AND n.id < :id)) " +
+            "ORDER BY n.date DESC, n.id DESC")
+    List<NoteRow> findNoteRowsPageAfter(@Param("user") User user,
+                                        @Param("date") LocalDate date,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
+
+    @Query(NOTE_ROW + "WHERE n.user = :user AND " +
+            "LOWER(n.title) LIKE LOWER(CONCAT('%', :string, '%')) " +
+            "ORDER BY n.date DESC, n.id DESC")
+    List<NoteRow> findNoteRowsByTitlePage(@Param("user") User user,
+                                          @Param("string") String string,
+                                          Pageable pageable);
+
+    @Query(NOTE_ROW + "WHERE n.user = :user AND " +
+            "LOWER(n.title) LIKE LOWER(CONCAT('%', :string, '%')) AND " +
+            "(n.date < :date OR (n.date = :date AND n.id < :id)) " +
+            "ORDER BY n.date DESC, n.id DESC")
+    List<NoteRow> findNoteRowsByTitlePageAfter(@Param("user") User user,
+                                               @Param("string") String string,
+                                               @Param("date") LocalDate date,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+
+    @Query(NOTE_ROW + "WHERE n.user = :user AND n.date BETWEEN :startDate AND :endDate ORDER BY n.date ASC, n.id ASC")
+    List<NoteRow> findNoteRowsBetweenDates(@Param("user") User user,
+                                           @Param("startDate") LocalDate startDate,
+                                           @Param("endDate") LocalDate endDate,
+                                           Pageable pageable);
+
+    @Query(NOTE_ROW + "WHERE n.user = :user AND n.date BETWEEN :startDate AND :endDate AND " +
+            "(n.date > :date OR (n.date = :date AND n.id > :id)) " +
+            "ORDER BY n.date ASC, n.id ASC")
+    List<NoteRow> findNoteRowsBetweenDatesAfter(@Param("user") User user,
+                                                @Param("startDate") LocalDate startDate,
+                                                @Param("endDate") LocalDate endDate,
+                                                @Param("date") LocalDate date,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
+
+    /**
+     * Rows are fetched from the database in chunks while the stream is consumed, on MySQL this needs
+     * useCursorFetch in the connection url. The stream must be closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(NOTE_ROW + "WHERE n.user = :user AND n.date BETWEEN :startDate AND :endDate ORDER BY n.date ASC, n.id ASC")
+    Stream<NoteRow> streamNoteRowsBetweenDates(@Param("user") User user,
+                                               @Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT n.id AS id, n.user.id AS userId, n.title AS title, n.text AS text FROM Note n " +
+            "WHERE n.id > :id ORDER BY n.id")
+    List<SearchDocument> findSearchDocumentsAfter(@Param("id") Long id, Pageable pageable);
 }
@@ -4,13 +4,36 @@ import com.example.sharesnotesapp.model.Request;
 import com.example.sharesnotesapp.model.Status;
 import com.example.sharesnotesapp.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RequestRepository extends JpaRepository<Request, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Request r WHERE r.id = :id")
+    Optional<Request> findByIdForUpdate(@Param("id") Long id);
     List<Request> getRequestsBySenderAndReceiver(User sender, User receiver);
     List<Request> getRequestsBySenderAndStatusOrderBySentAtDesc(User sender, Status status);
     List<Request> getRequestsByReceiverAndStatusOrderBySentAtDesc(User receiver, Status status);
+    @Query("SELECT DISTINCT r.status FROM Request r " +
+            "WHERE r.sender.id IN (:userId, :otherUserId) AND r.receiver.id IN (:userId, :otherUserId) " +
+            "AND r.sender.id <> r.receiver.id AND r.status IN :statuses")
+    List<Status> findStatusesBetween(@Param("userId") Long userId,
+                                     @Param("otherUserId") Long otherUserId,
+                                     @Param("statuses") Collection<Status> statuses);
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Request r " +
+            "WHERE r.sender.id IN (:userId, :otherUserId) AND r.receiver.id IN (:userId, :otherUserId) " +
+            "AND r.sender.id <> r.receiver.id")
+    int deleteAllBetween(@Param("userId") Long userId, @Param("otherUserId") Long otherUserId);
 }
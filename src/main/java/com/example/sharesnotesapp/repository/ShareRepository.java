@@ -2,12 +2,29 @@ package com.example.sharesnotesapp.repository;
 
 import com.example.sharesnotesapp.model.Share;
 import com.example.sharesnotesapp.model.User;
+import com.example.sharesnotesapp.repository.projection.ShareRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface ShareRepository extends JpaRepository<Share, Long> {
+    String SHARE_ROW = "SELECT new com.example.sharesnotesapp.repository.projection.ShareRow(s.id, s.sentAt, " +
+            "se.id, se.firstName, se.lastName, se.email, r.id, r.firstName, r.lastName, r.email, " +
+            "n.id, n.title, n.text, n.date, n.grade, o.id, o.firstName, o.lastName, o.email) " +
+            "FROM Share s JOIN s.sender se JOIN s.receiver r JOIN s.sentNote n JOIN n.user o ";
+
     List<Share> getSharesBySenderAndReceiverOrderBySentAtDesc(User sender, User receiver);
     List<Share> getSharesBySenderOrderBySentAtDesc(User sender);
     List<Share> getSharesByReceiverOrderBySentAtDesc(User receiver);
+
+    @Query(SHARE_ROW + "WHERE s.sender = :sender ORDER BY s.sentAt DESC")
+    List<ShareRow> findShareRowsBySender(@Param("sender") User sender);
+
+    @Query(SHARE_ROW + "WHERE s.receiver = :receiver ORDER BY s.sentAt DESC")
+    List<ShareRow> findShareRowsByReceiver(@Param("receiver") User receiver);
+
+    @Query(SHARE_ROW + "WHERE s.sender = :sender AND s.receiver = :receiver ORDER BY s.sentAt DESC")
+    List<ShareRow> findShareRowsBySenderAndReceiver(@Param("sender") User sender, @Param("receiver") User receiver);
 }
@@ -1,17 +1,35 @@
 package com.example.sharesnotesapp.repository;
 
+import com.example.sharesnotesapp.config.SecondLevelCacheConfiguration;
 import com.example.sharesnotesapp.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.QueryHints.HINT_NATIVE_SPACES;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    String FRIENDSHIP_TABLE = "user_friends";
+
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = SecondLevelCacheConfiguration.USERS_BY_EMAIL_REGION)})
     Optional<User> findUserByEmail(String email);
+    List<User> findAllByEmailIn(Collection<String> emails);
     @Query("SELECT u FROM User u WHERE u.id <> :currentUserId AND " +
             "(LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
@@ -20,4 +38,39 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> searchUsersExcludingCurrent(@Param("currentUserId") Long currentUserId,
                                            @Param("searchTerm") String searchTerm);
     List<User> findByIdNot(Long currentUserId);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id IN :ids ORDER BY u.id")
+    List<User> lockUsers(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Friendships are stored as two rows in user_friends, one per direction. The queries below only
+     * touch the rows of the given pair through the (user_id, friend_id) key, never the friend lists.
+     * The pair is matched with IN on both columns rather than an OR of both directions, so every
+     * database resolves it as two key lookups instead of a scan. The writes name user_friends as their
+     * query space, so hibernate does not drop the whole second-level cache for them, callers evict the
+     * friend lists of the pair through SecondLevelCache.
+     */
+    @Query(value = "SELECT COUNT(*) FROM user_friends " +
+            "WHERE user_id IN (:userId, :friendId) AND friend_id IN (:userId, :friendId) AND user_id <> friend_id",
+            nativeQuery = true)
+    long countFriendships(@Param("userId") Long userId, @Param("friendId") Long friendId);
+
+    default boolean areFriends(Long userId, Long friendId) {
+        return countFriendships(userId, friendId) > 0;
+    }
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = FRIENDSHIP_TABLE))
+    @Query(value = "INSERT INTO user_friends (user_id, friend_id) VALUES (:userId, :friendId), (:friendId, :userId)",
+            nativeQuery = true)
+    int addFriendship(@Param("userId") Long userId, @Param("friendId") Long friendId);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = FRIENDSHIP_TABLE))
+    @Query(value = "DELETE FROM user_friends " +
+            "WHERE user_id IN (:userId, :friendId) AND friend_id IN (:userId, :friendId) AND user_id <> friend_id",
+            nativeQuery = true)
+    int removeFriendship(@Param("userId") Long userId, @Param("friendId") Long friendId);
 }
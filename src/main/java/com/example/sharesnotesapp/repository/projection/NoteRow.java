@@ -0,0 +1,10 @@
+package com.example.sharesnotesapp.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Columns of a note listing, selected together with the owner in one statement
+ */
+public record NoteRow(Long id, String title, String text, LocalDate date, Integer grade,
+                      Long userId, String userFirstName, String userLastName, String userEmail) {
+}
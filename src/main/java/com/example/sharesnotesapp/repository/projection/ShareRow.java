@@ -0,0 +1,13 @@
+package com.example.sharesnotesapp.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Columns of a share listing, selected together with the sender, the receiver and the shared note in one statement
+ */
+public record ShareRow(Long id, LocalDate sentAt,
+                       Long senderId, String senderFirstName, String senderLastName, String senderEmail,
+                       Long receiverId, String receiverFirstName, String receiverLastName, String receiverEmail,
+                       Long noteId, String noteTitle, String noteText, LocalDate noteDate, Integer noteGrade,
+                       Long ownerId, String ownerFirstName, String ownerLastName, String ownerEmail) {
+}
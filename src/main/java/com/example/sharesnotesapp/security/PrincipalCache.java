@@ -0,0 +1,55 @@
+package com.example.sharesnotesapp.security;
+
+import com.example.sharesnotesapp.cache.BoundedCache;
+import com.example.sharesnotesapp.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Keeps the principals loaded by the jwt filter, keyed by the token subject (the user email),
+ * so that authenticated requests do not query the users table every time.
+ */
+@Component
+public class PrincipalCache implements MeterBinder {
+    private final BoundedCache<String, UserDetails> cache;
+
+    public PrincipalCache(@Value("${app.principalCacheMaxSize:10000}") int maxSize,
+                          @Value("${app.principalCacheTtlMs:300000}") long ttlMs) {
+        this.cache = new BoundedCache<>(maxSize, Duration.ofMillis(ttlMs));
+    }
+
+    public UserDetails getPrincipal(String username, Function<String, UserDetails> loader) {
+        return cache.get(username, loader);
+    }
+
+    public void invalidate(String username) {
+        cache.invalidate(username);
+    }
+
+    /**
+     * Drops the cached principals of the given users, for changes made without knowing their emails
+     */
+    public void invalidateUsers(Collection<Long> userIds) {
+        cache.invalidateIf(principal -> principal instanceof User user && userIds.contains(user.getId()));
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        cache.bindTo(registry, "principals");
+    }
+}
@@ -5,6 +5,7 @@ import com.example.sharesnotesapp.security.jwt.AuthTokenFilter;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -16,9 +17,11 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
@@ -30,6 +33,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Getter
 @RequiredArgsConstructor
 public class SecurityConfig {
+    public static final String METRICS_ROLE = "METRICS";
 
     private final UserDetailsService userDetailsService;
     private final AuthEntryPointJwt unauthorizedHandler;
@@ -55,14 +59,22 @@ public class SecurityConfig {
     }
 
 
+    /**
+     * The metrics endpoints are only served to the scrape account configured with app.metricsUser and
+     * app.metricsPassword, over basic authentication. Without a password no one can read them.
+     */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http, PasswordEncoder passwordEncoder) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, PasswordEncoder passwordEncoder,
+                                           @Value("${app.metricsUser:}") String metricsUser,
+                                           @Value("${app.metricsPassword:}") String metricsPassword) throws Exception {
         http.cors().and().csrf()
                 .disable()
                 .exceptionHandling().authenticationEntryPoint(getUnauthorizedHandler())
                 .and()
                 .authorizeRequests()
                 .antMatchers("/", "/register").permitAll()
+                .antMatchers("/actuator/health").permitAll()
+                .antMatchers("/actuator/prometheus", "/actuator/metrics/**").hasRole(METRICS_ROLE)
                 .antMatchers("/login")
                 .anonymous()
                 .anyRequest()
@@ -74,12 +86,28 @@ public class SecurityConfig {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS);
 
         http.authenticationProvider(authenticationProvider(passwordEncoder));
+        if (!metricsUser.isEmpty() && !metricsPassword.isEmpty()) {
+            http.authenticationProvider(metricsAuthenticationProvider(metricsUser, metricsPassword, passwordEncoder));
+        }
 
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
+    private static DaoAuthenticationProvider metricsAuthenticationProvider(String username, String password,
+                                                                           PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+
+        authProvider.setUserDetailsService(new InMemoryUserDetailsManager(User.withUsername(username)
+                .password(passwordEncoder.encode(password))
+                .roles(METRICS_ROLE)
+                .build()));
+        authProvider.setPasswordEncoder(passwordEncoder);
+
+        return authProvider;
+    }
+
     @Bean
     public WebMvcConfigurer corsConfigurer() {
         return new WebMvcConfigurer() {
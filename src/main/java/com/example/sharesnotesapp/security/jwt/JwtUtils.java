@@ -1,18 +1,33 @@
 package com.example.sharesnotesapp.security.jwt;
 
+import com.example.sharesnotesapp.cache.BoundedCache;
 import com.example.sharesnotesapp.model.User;
 import io.jsonwebtoken.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
-public class JwtUtils {
+public class JwtUtils implements MeterBinder {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
+    private static final String CACHED = "cached";
+    private static final String PARSED = "parsed";
+    private static final String REJECTED = "rejected";
 
     @Value("${app.jwtSecret}")
     private String jwtSecret;
@@ -20,6 +35,17 @@ public class JwtUtils {
     @Value("${app.jwtExpirationMs}")
     private int jwtExpirationMs;
 
+    @Value("${app.jwtCacheMaxSize:10000}")
+    private int jwtCacheMaxSize;
+
+    private BoundedCache<String, VerifiedJwt> verifiedTokens;
+    private Map<String, Timer> validationTimers = Map.of();
+
+    @PostConstruct
+    public void initVerifiedTokenCache() {
+        verifiedTokens = new BoundedCache<>(jwtCacheMaxSize, null);
+    }
+
     public String generateJwtCookie(User userPrincipal) {
         return generateTokenFromUsername(userPrincipal.getUsername());
     }
@@ -29,9 +55,44 @@ public class JwtUtils {
     }
 
     public boolean validateJwtToken(String authToken) {
+        return verifyJwtToken(authToken).isPresent();
+    }
+
+    /**
+     * Parses and checks the signature of the token once. Tokens that were already verified are
+     * recognised by their digest and are not parsed again until they expire. The time taken is
+     * recorded as "jwt.validation", tagged with the outcome: cached, parsed or rejected.
+     *
+     * @param authToken - the token from the Authorization header
+     * @return the subject and expiration of the token, or empty if the token is not valid
+     */
+    public Optional<VerifiedJwt> verifyJwtToken(String authToken) {
+        long start = System.nanoTime();
+        if (authToken == null || authToken.isBlank()) {
+            logger.error("JWT claims string is empty");
+            return recordValidation(start, REJECTED, Optional.empty());
+        }
+
+        String digest = digest(authToken);
+        VerifiedJwt cachedToken = verifiedTokens.get(digest);
+        if (cachedToken != null) {
+            if (!cachedToken.isExpired()) {
+                return recordValidation(start, CACHED, Optional.of(cachedToken));
+            }
+
+            verifiedTokens.invalidate(digest);
+            logger.error("JWT token is expired: {}", cachedToken.expiration());
+            return recordValidation(start, REJECTED, Optional.empty());
+        }
+
         try {
-            Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(authToken);
-            return true;
+            Claims claims = Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(authToken).getBody();
+            VerifiedJwt verifiedToken = new VerifiedJwt(claims.getSubject(), claims.getExpiration());
+            verifiedTokens.put(digest, verifiedToken);
+
+            return recordValidation(start, PARSED, Optional.of(verifiedToken));
+        } catch (SignatureException e) {
+            logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -42,7 +103,16 @@ public class JwtUtils {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
 
-        return false;
+        return recordValidation(start, REJECTED, Optional.empty());
+    }
+
+    private Optional<VerifiedJwt> recordValidation(long start, String outcome, Optional<VerifiedJwt> result) {
+        Timer timer = validationTimers.get(outcome);
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        return result;
     }
 
     public String generateTokenFromUsername(String username) {
@@ -53,4 +123,28 @@ public class JwtUtils {
                 .signWith(SignatureAlgorithm.HS512, jwtSecret)
                 .compact();
     }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        verifiedTokens.bindTo(registry, "jwt.tokens");
+        validationTimers = Map.of(
+                CACHED, validationTimer(registry, CACHED),
+                PARSED, validationTimer(registry, PARSED),
+                REJECTED, validationTimer(registry, REJECTED));
+    }
+
+    private static Timer validationTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("jwt.validation")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
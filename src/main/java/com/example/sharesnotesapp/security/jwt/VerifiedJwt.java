@@ -0,0 +1,12 @@
+package com.example.sharesnotesapp.security.jwt;
+
+import java.util.Date;
+
+/**
+ * The parts of a signature-checked token that the filter needs
+ */
+public record VerifiedJwt(String subject, Date expiration) {
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
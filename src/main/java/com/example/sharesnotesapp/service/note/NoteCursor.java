@@ -0,0 +1,39 @@
+package com.example.sharesnotesapp.service.note;
+
+import com.example.sharesnotesapp.model.Note;
+import com.example.sharesnotesapp.repository.projection.NoteRow;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last note of a page in the (date, id) order of a listing, sent to clients as an opaque token
+ */
+public record NoteCursor(LocalDate date, Long id) {
+
+    public static NoteCursor of(Note note) {
+        return new NoteCursor(note.getDate(), note.getId());
+    }
+
+    public static NoteCursor of(NoteRow row) {
+        return new NoteCursor(row.date(), row.id());
+    }
+
+    public String encode() {
+        String value = date + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static NoteCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+
+            return new NoteCursor(LocalDate.parse(value.substring(0, separator)), Long.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+}
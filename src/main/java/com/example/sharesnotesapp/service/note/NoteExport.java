@@ -0,0 +1,135 @@
+package com.example.sharesnotesapp.service.note;
+
+import com.example.sharesnotesapp.model.FileType;
+import com.example.sharesnotesapp.model.Note;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A note rendered once in one of the download formats, with everything needed to build the response.
+ * The content is either a heap array or a read-only memory-mapped file kept by the export cache.
+ */
+@Getter
+public class NoteExport {
+    private final FileType type;
+    private final String filename;
+    private final MediaType mediaType;
+    @Getter(AccessLevel.NONE)
+    private final ByteBuffer content;
+
+    public NoteExport(Note note, FileType type, byte[] content) {
+        this(type, filenameFor(note, type), ByteBuffer.wrap(content));
+    }
+
+    private NoteExport(FileType type, String filename, ByteBuffer content) {
+        this.type = type;
+        this.filename = filename;
+        this.mediaType = mediaTypeFor(type);
+        this.content = content;
+    }
+
+    /**
+     * @param content - the same bytes stored somewhere else, e.g. a mapped file
+     * @return a copy of this export that reads its content from the given buffer
+     */
+    public NoteExport withContent(ByteBuffer content) {
+        return new NoteExport(type, filename, content.asReadOnlyBuffer());
+    }
+
+    public long getContentLength() {
+        return content.remaining();
+    }
+
+    public boolean isOnHeap() {
+        return content.hasArray();
+    }
+
+    public byte[] getContent() {
+        if (content.hasArray() && content.arrayOffset() == 0 && content.array().length == content.remaining()) {
+            return content.array();
+        }
+
+        byte[] bytes = new byte[content.remaining()];
+        content.duplicate().get(bytes);
+
+        return bytes;
+    }
+
+    /**
+     * @return a stream over the content that reads a mapped file in place, without copying it to the heap
+     */
+    public InputStream openStream() {
+        if (content.hasArray()) {
+            return new ByteArrayInputStream(content.array(), content.arrayOffset() + content.position(), content.remaining());
+        }
+
+        return new ByteBufferInputStream(content.duplicate());
+    }
+
+    public void writeTo(OutputStream outputStream) throws IOException {
+        if (content.hasArray()) {
+            outputStream.write(content.array(), content.arrayOffset() + content.position(), content.remaining());
+            return;
+        }
+
+        ByteBuffer source = content.duplicate();
+        WritableByteChannel channel = Channels.newChannel(outputStream);
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+
+    public static String filenameFor(Note note, FileType type) {
+        return "note_" + note.getTitle() + "_" + note.getDate() + "." + type;
+    }
+
+    public static MediaType mediaTypeFor(FileType type) {
+        return switch (type) {
+            case txt -> MediaType.TEXT_PLAIN;
+            case pdf -> MediaType.APPLICATION_PDF;
+            case docx -> MediaType.APPLICATION_OCTET_STREAM;
+        };
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+
+            int read = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, read);
+
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
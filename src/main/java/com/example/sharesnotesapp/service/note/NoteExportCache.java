@@ -0,0 +1,168 @@
+package com.example.sharesnotesapp.service.note;
+
+import com.example.sharesnotesapp.cache.BoundedCache;
+import com.example.sharesnotesapp.model.FileType;
+import com.example.sharesnotesapp.model.Note;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Keeps rendered exports keyed by note id, a hash of the note content and the file type, so a note
+ * downloaded by many receivers is rendered once per version. Exports above the spill threshold are
+ * written to the configured directory and served from a memory-mapped file instead of the heap.
+ */
+@Component
+public class NoteExportCache implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(NoteExportCache.class);
+    private static final String SPILL_FILE_SUFFIX = ".export";
+
+    private final BoundedCache<Key, CachedExport> cache;
+    private final Path spillDirectory;
+    private final long spillThresholdBytes;
+
+    /**
+     * @param maxEntries          - maximum number of cached exports, on heap or on disk
+     * @param maxBytes            - maximum heap used by exports that are not spilled, zero disables the cache
+     * @param spillDirectory      - directory for the mapped files, empty to keep everything on heap
+     * @param spillThresholdBytes - exports at least this large are spilled to disk
+     */
+    public NoteExportCache(@Value("${app.exportCacheMaxEntries:1000}") int maxEntries,
+                           @Value("${app.exportCacheMaxBytes:67108864}") long maxBytes,
+                           @Value("${app.exportCacheDir:}") String spillDirectory,
+                           @Value("${app.exportCacheSpillThresholdBytes:1048576}") long spillThresholdBytes) {
+        this.cache = maxEntries > 0 && maxBytes > 0
+                ? new BoundedCache<>(maxEntries, null, maxBytes, CachedExport::heapBytes, CachedExport::deleteFile)
+                : null;
+        this.spillDirectory = cache != null && !spillDirectory.isBlank() ? prepareSpillDirectory(Path.of(spillDirectory)) : null;
+        this.spillThresholdBytes = spillThresholdBytes;
+    }
+
+    /**
+     * Returns the cached export for the current content of the note, rendering and storing it on a miss
+     */
+    public NoteExport getOrRender(Note note, FileType type, Supplier<NoteExport> renderer) {
+        if (cache == null || note.getId() == null) {
+            return renderer.get();
+        }
+
+        Key key = new Key(note.getId(), contentHash(note), type);
+        CachedExport cached = cache.get(key);
+        if (cached != null) {
+            return cached.export();
+        }
+
+        NoteExport export = renderer.get();
+        CachedExport stored = store(key, export);
+        cache.put(key, stored);
+
+        return stored.export();
+    }
+
+    /**
+     * @return the cached export for the current content of the note, or null if it was not rendered yet
+     */
+    public NoteExport getIfPresent(Note note, FileType type) {
+        if (cache == null || note.getId() == null) {
+            return null;
+        }
+
+        CachedExport cached = cache.get(new Key(note.getId(), contentHash(note), type));
+
+        return cached != null ? cached.export() : null;
+    }
+
+    public void evict(Long noteId) {
+        if (cache != null) {
+            cache.invalidateKeys(key -> key.noteId().equals(noteId));
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (cache != null) {
+            cache.bindTo(registry, "note.exports");
+        }
+    }
+
+    private CachedExport store(Key key, NoteExport export) {
+        if (spillDirectory == null || export.getContentLength() < spillThresholdBytes) {
+            return new CachedExport(export, null);
+        }
+
+        Path file = null;
+        try {
+            file = Files.createTempFile(spillDirectory, key.noteId() + "-" + key.type() + "-", SPILL_FILE_SUFFIX);
+            Files.write(file, export.getContent());
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                return new CachedExport(export.withContent(mapped), file);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not spill export of note {} to {}: {}", key.noteId(), spillDirectory, e.getMessage());
+            new CachedExport(export, file).deleteFile();
+            return new CachedExport(export, null);
+        }
+    }
+
+    private static Path prepareSpillDirectory(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(file -> file.getFileName().toString().endsWith(SPILL_FILE_SUFFIX))
+                        .forEach(file -> file.toFile().delete());
+            }
+
+            return directory;
+        } catch (IOException e) {
+            logger.warn("Export cache directory {} is not usable, exports stay on heap: {}", directory, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String contentHash(Note note) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object field : new Object[]{note.getTitle(), note.getText(), note.getDate(), note.getGrade()}) {
+                digest.update(String.valueOf(field).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Key(Long noteId, String contentHash, FileType type) {
+    }
+
+    private record CachedExport(NoteExport export, Path file) {
+        long heapBytes() {
+            return export.isOnHeap() ? export.getContentLength() : 0;
+        }
+
+        void deleteFile() {
+            if (file != null && !file.toFile().delete()) {
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+}
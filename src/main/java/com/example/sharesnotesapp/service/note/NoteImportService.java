@@ -0,0 +1,14 @@
+package com.example.sharesnotesapp.service.note;
+
+import com.example.sharesnotesapp.model.dto.response.NoteImportResponseDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface NoteImportService {
+    /**
+     * Imports the notes of a JSON array or of newline delimited JSON objects, read one item at a time.
+     * Invalid items are reported in the result and do not prevent the others from being saved.
+     */
+    NoteImportResponseDto importNotes(Long userId, InputStream input) throws IOException;
+}
@@ -0,0 +1,201 @@
+package com.example.sharesnotesapp.service.note;
+
+import com.example.sharesnotesapp.model.Note;
+import com.example.sharesnotesapp.model.User;
+import com.example.sharesnotesapp.model.dto.request.NoteRequestDto;
+import com.example.sharesnotesapp.model.dto.response.ImportErrorDto;
+import com.example.sharesnotesapp.model.dto.response.NoteImportResponseDto;
+import com.example.sharesnotesapp.repository.NoteRepository;
+import com.example.sharesnotesapp.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityNotFoundException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class NoteImportServiceImpl implements NoteImportService {
+    private static final Logger logger = LoggerFactory.getLogger(NoteImportServiceImpl.class);
+
+    private final NoteRepository noteRepository;
+    private final UserRepository userRepository;
+    private final NoteSearchIndex searchIndex;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int batchSize;
+    private final int maxItems;
+
+    /**
+     * @param batchSize - number of notes saved and flushed per transaction
+     * @param maxItems  - maximum number of items imported from one request, the rest are counted as skipped
+     */
+    public NoteImportServiceImpl(NoteRepository noteRepository,
+                                 UserRepository userRepository,
+                                 NoteSearchIndex searchIndex,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 PlatformTransactionManager transactionManager,
+                                 EntityManager entityManager,
+                                 @Value("${app.noteImportBatchSize:500}") int batchSize,
+                                 @Value("${app.noteImportMaxItems:100000}") int maxItems) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Import batch size must be a positive integer");
+        }
+
+        this.noteRepository = noteRepository;
+        this.userRepository = userRepository;
+        this.searchIndex = searchIndex;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+        this.maxItems = maxItems;
+    }
+
+    @Override
+    public NoteImportResponseDto importNotes(Long userId, InputStream input) throws IOException {
+        User user = userRepository.findById(userId).orElseThrow(() -> new EntityNotFoundException("User does not exist"));
+
+        List<ImportErrorDto> errors = new ArrayList<>();
+        List<PendingNote> batch = new ArrayList<>(batchSize);
+        int imported = 0;
+        int skipped = 0;
+        int index = 0;
+
+        try (MappingIterator<JsonNode> items = objectMapper.readerFor(JsonNode.class).readValues(input)) {
+            while (items.hasNextValue()) {
+                JsonNode item = items.nextValue();
+                if (index >= maxItems) {
+                    skipped++;
+                    index++;
+                    continue;
+                }
+
+                try {
+                    NoteRequestDto request = objectMapper.treeToValue(item, NoteRequestDto.class);
+                    String violation = validate(request);
+
+                    if (violation != null) {
+                        errors.add(new ImportErrorDto(index, violation));
+                    } else {
+                        batch.add(new PendingNote(index, request));
+                    }
+                } catch (JsonProcessingException e) {
+                    errors.add(new ImportErrorDto(index, "Invalid note: " + e.getOriginalMessage()));
+                }
+
+                if (batch.size() == batchSize) {
+                    imported += persist(user, batch, errors);
+                    batch.clear();
+                }
+                index++;
+            }
+        } catch (JsonParseException e) {
+            errors.add(new ImportErrorDto(index, "Malformed JSON: " + e.getOriginalMessage()));
+        }
+
+        imported += persist(user, batch, errors);
+        errors.sort(Comparator.comparingInt(ImportErrorDto::getIndex));
+
+        if (skipped > 0) {
+            logger.info("Import of user {} skipped {} notes over the limit of {}", userId, skipped, maxItems);
+        }
+
+        return new NoteImportResponseDto(imported, errors.size(), skipped, errors);
+    }
+
+    private String validate(NoteRequestDto request) {
+        String violations = validator.validate(request).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+
+        if (!violations.isEmpty()) {
+            return violations;
+        }
+
+        if (request.getGrade() == null) {
+            return "Grade must be an integer between 1 and 10";
+        }
+
+        if (request.getDate() == null) {
+            return "Date should not be empty";
+        }
+
+        return null;
+    }
+
+    /**
+     * Saves the batch in one transaction. If that fails, the notes are saved one by one
+     * so that only the ones the database rejects are reported.
+     */
+    private int persist(User user, List<PendingNote> batch, List<ImportErrorDto> errors) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            return save(user, batch);
+        } catch (RuntimeException e) {
+            logger.warn("Saving a batch of {} imported notes failed, retrying one by one: {}", batch.size(), e.getMessage());
+        }
+
+        int imported = 0;
+        for (PendingNote pending : batch) {
+            try {
+                imported += save(user, List.of(pending));
+            } catch (RuntimeException e) {
+                errors.add(new ImportErrorDto(pending.index(), "Note could not be saved"));
+            }
+        }
+
+        return imported;
+    }
+
+    private int save(User user, List<PendingNote> batch) {
+        List<Note> savedNotes = transactionTemplate.execute(status -> {
+            List<Note> notes = noteRepository.saveAll(batch.stream().map(pending -> toNote(user, pending.request())).toList());
+            entityManager.flush();
+            entityManager.clear();
+
+            return notes;
+        });
+
+        savedNotes.forEach(searchIndex::index);
+
+        return savedNotes.size();
+    }
+
+    private static Note toNote(User user, NoteRequestDto request) {
+        return Note.builder()
+                .user(user)
+                .title(request.getTitle())
+                .text(request.getText())
+                .date(request.getDate())
+                .grade(request.getGrade())
+                .build();
+    }
+
+    private record PendingNote(int index, NoteRequestDto request) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.sharesnotesapp.service.note;
+
+import com.example.sharesnotesapp.model.User;
+import com.example.sharesnotesapp.repository.projection.NoteRow;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Note listings read as projections, so mapping them to responses does not load the owners one by one
+ */
+public interface NoteReadService {
+    /**
+     * Reads the note through the note cache
+     */
+    NoteRow getNoteById(Long id);
+
+    List<NoteRow> getNotesByUser(User user);
+
+    List<NoteRow> getFilteredNotesByTitle(User user, String string);
+
+    List<NoteRow> getLatestNotes(User user);
+
+    List<NoteRow> getNotesBetweenDates(User user, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Keyset page of the user's notes, newest first
+     */
+    NoteRowPage getNotesPage(User user, String cursor, Integer size);
+
+    NoteRowPage getFilteredNotesPage(User user, String string, String cursor, Integer size);
+
+    /**
+     * Notes ranked by the search index, or matched by title while the index is being built
+     */
+    List<NoteRow> searchNotes(User user, String query, Integer limit);
+
+    NoteRowPage getNotesBetweenDatesPage(User user, LocalDate startDate, LocalDate endDate, String cursor, Integer size);
+
+    /**
+     * Passes the notes of the user in the date range to the consumer one by one, in date order,
+     * without holding the whole range in memory
+     */
+    void streamNotesBetweenDates(User user, LocalDate startDate, LocalDate endDate, Consumer<NoteRow> consumer);
+}
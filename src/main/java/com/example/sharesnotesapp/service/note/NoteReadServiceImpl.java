@@ -0,0 +1,161 @@
+package com.example.sharesnotesapp.service.note;
+
+import com.example.sharesnotesapp.model.User;
+import com.example.sharesnotesapp.repository.NoteRepository;
+import com.example.sharesnotesapp.repository.projection.NoteRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityNotFoundException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class NoteReadServiceImpl implements NoteReadService {
+    private static final int LATEST_NOTES = 5;
+
+    private final NoteRepository noteRepository;
+    private final NoteRowCache noteRowCache;
+    private final NoteSearchIndex searchIndex;
+
+    @Override
+    public NoteRow getNoteById(Long id) {
+        NoteRow note = noteRowCache.get(id, key -> noteRepository.findNoteRowById(key).orElse(null));
+        if (note == null) {
+            throw new EntityNotFoundException(String.format("Note with id %s does not exist", id));
+        }
+
+        return note;
+    }
+
+    @Override
+    public List<NoteRow> getNotesByUser(User user) {
+        return noteRepository.findNoteRowsByUser(user);
+    }
+
+    @Override
+    public List<NoteRow> getFilteredNotesByTitle(User user, String string) {
+        if (!string.isEmpty() && !string.isBlank()) {
+            return noteRepository.findNoteRowsByUserAndTitle(user, string);
+        }
+
+        return noteRepository.findNoteRowsByUser(user);
+    }
+
+    @Override
+    public List<NoteRow> getLatestNotes(User user) {
+        return noteRepository.findNoteRowsByUser(user, PageRequest.of(0, LATEST_NOTES));
+    }
+
+    @Override
+    public List<NoteRow> getNotesBetweenDates(User user, LocalDate startDate, LocalDate endDate) {
+        return noteRepository.findNoteRowsBetweenDates(user, startDate, endDate, Pageable.unpaged());
+    }
+
+    @Override
+    public NoteRowPage getNotesPage(User user, String cursor, Integer size) {
+        Pageable pageable = pageRequest(size);
+        List<NoteRow> notes;
+
+        if (cursor == null || cursor.isBlank()) {
+            notes = noteRepository.findNoteRowsPage(user, pageable);
+        } else {
+            NoteCursor after = NoteCursor.decode(cursor);
+            notes = noteRepository.findNoteRowsPageAfter(user, after.date(), after.id(), pageable);
+        }
+
+        return toPage(notes, pageable.getPageSize() - 1);
+    }
+
+    @Override
+    public NoteRowPage getFilteredNotesPage(User user, String string, String cursor, Integer size) {
+        if (string.isBlank()) {
+            return getNotesPage(user, cursor, size);
+        }
+
+        Pageable pageable = pageRequest(size);
+        List<NoteRow> notes;
+
+        if (cursor == null || cursor.isBlank()) {
+            notes = noteRepository.findNoteRowsByTitlePage(user, string, pageable);
+        } else {
+            NoteCursor after = NoteCursor.decode(cursor);
+            notes = noteRepository.findNoteRowsByTitlePageAfter(user, string, after.date(), after.id(), pageable);
+        }
+
+        return toPage(notes, pageable.getPageSize() - 1);
+    }
+
+    @Override
+    public List<NoteRow> searchNotes(User user, String query, Integer limit) {
+        int maxResults = NoteServiceImpl.pageSize(limit);
+
+        if (query.isBlank()) {
+            return noteRepository.findNoteRowsPage(user, PageRequest.of(0, maxResults));
+        }
+
+        if (!searchIndex.isReady()) {
+            return noteRepository.findNoteRowsByTitlePage(user, query, PageRequest.of(0, maxResults));
+        }
+
+        List<Long> ids = searchIndex.search(user.getId(), query, maxResults);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, NoteRow> notes = noteRepository.findNoteRowsByIdIn(ids).stream()
+                .collect(Collectors.toMap(NoteRow::id, Function.identity()));
+
+        return ids.stream().map(notes::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public NoteRowPage getNotesBetweenDatesPage(User user, LocalDate startDate, LocalDate endDate, String cursor, Integer size) {
+        Pageable pageable = pageRequest(size);
+        List<NoteRow> notes;
+
+        if (cursor == null || cursor.isBlank()) {
+            notes = noteRepository.findNoteRowsBetweenDates(user, startDate, endDate, pageable);
+        } else {
+            NoteCursor after = NoteCursor.decode(cursor);
+            notes = noteRepository.findNoteRowsBetweenDatesAfter(user, startDate, endDate, after.date(), after.id(), pageable);
+        }
+
+        return toPage(notes, pageable.getPageSize() - 1);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void streamNotesBetweenDates(User user, LocalDate startDate, LocalDate endDate, Consumer<NoteRow> consumer) {
+        try (Stream<NoteRow> notes = noteRepository.streamNoteRowsBetweenDates(user, startDate, endDate)) {
+            notes.forEach(consumer);
+        }
+    }
+
+    /**
+     * One extra row is requested to know whether there is a next page
+     */
+    private static Pageable pageRequest(Integer size) {
+        return PageRequest.of(0, NoteServiceImpl.pageSize(size) + 1);
+    }
+
+    private static NoteRowPage toPage(List<NoteRow> notes, int pageSize) {
+        if (notes.size() <= pageSize) {
+            return new NoteRowPage(notes, null);
+        }
+
+        List<NoteRow> pageNotes = notes.subList(0, pageSize);
+
+        return new NoteRowPage(pageNotes, NoteCursor.of(pageNotes.get(pageSize - 1)).encode());
+    }
+}
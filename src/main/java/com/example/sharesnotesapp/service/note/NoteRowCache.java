@@ -0,0 +1,55 @@
+package com.example.sharesnotesapp.service.note;
+
+import com.example.sharesnotesapp.cache.BoundedCache;
+import com.example.sharesnotesapp.repository.projection.NoteRow;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Keeps single notes read by id, so a note opened by many share receivers is selected once. Rows are
+ * invalidated when the note or its owner changes, the time to live bounds what a racing load can leave behind.
+ */
+@Component
+public class NoteRowCache implements MeterBinder {
+    private final BoundedCache<Long, NoteRow> cache;
+
+    /**
+     * @param maxSize - maximum number of cached notes, zero disables the cache
+     * @param ttlMs   - how long a cached note is served before it is selected again
+     */
+    public NoteRowCache(@Value("${app.noteCacheMaxSize:10000}") int maxSize,
+                        @Value("${app.noteCacheTtlMs:600000}") long ttlMs) {
+        this.cache = maxSize > 0 ? new BoundedCache<>(maxSize, Duration.ofMillis(ttlMs)) : null;
+    }
+
+    public NoteRow get(Long id, Function<Long, NoteRow> loader) {
+        return cache != null ? cache.get(id, loader) : loader.apply(id);
+    }
+
+    public void invalidate(Long id) {
+        if (cache != null) {
+            cache.invalidate(id);
+        }
+    }
+
+    /**
+     * Drops the cached notes of the user, whose name and email are part of every row
+     */
+    public void invalidateUser(Long userId) {
+        if (cache != null) {
+            cache.invalidateIf(row -> row.userId().equals(userId));
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (cache != null) {
+            cache.bindTo(registry, "notes");
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.sharesnotesapp.service.note;
+
+import com.example.sharesnotesapp.repository.projection.NoteRow;
+
+import java.util.List;
+
+/**
+ * @param notes      - the note rows of the page
+ * @param nextCursor - token for the following page, null on the last page
+ */
+public record NoteRowPage(List<NoteRow> notes, String nextCursor) {
+}
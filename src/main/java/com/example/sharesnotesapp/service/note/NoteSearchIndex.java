@@ -0,0 +1,219 @@
+package com.example.sharesnotesapp.service.note;
+
+import com.example.sharesnotesapp.model.Note;
+import com.example.sharesnotesapp.repository.NoteRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the title and text of the notes, partitioned by user.
+ * Every query term matches the words it is a prefix of; notes are ranked by the number of
+ * matched terms, then by a tf-idf score in which title words count more than text words.
+ * <p>
+ * The index is rebuilt from the database once the application is ready and kept up to date by the note service.
+ * Until the rebuild is finished {@link #isReady()} is false and callers should fall back to the database.
+ */
+@Component
+public class NoteSearchIndex implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(NoteSearchIndex.class);
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final int TITLE_WEIGHT = 3;
+    private static final int EXACT_MATCH_WEIGHT = 2;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final NoteRepository noteRepository;
+    private final Map<Long, UserIndex> users = new ConcurrentHashMap<>();
+    private final Set<Long> removedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    public NoteSearchIndex(NoteRepository noteRepository) {
+        this.noteRepository = noteRepository;
+    }
+
+    /**
+     * Loads every note in id order, in batches. Notes saved or deleted while the rebuild runs are
+     * indexed by the note service and are not overwritten by the rows read here.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        long lastId = 0;
+        int indexed = 0;
+        List<NoteRepository.SearchDocument> batch;
+
+        do {
+            batch = noteRepository.findSearchDocumentsAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (NoteRepository.SearchDocument document : batch) {
+                lastId = document.getId();
+                if (!removedDuringRebuild.contains(document.getId())) {
+                    userIndex(document.getUserId()).add(document.getId(), terms(document.getTitle(), document.getText()), false);
+                    indexed++;
+                }
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        ready = true;
+        removedDuringRebuild.clear();
+        logger.info("Indexed {} notes for search in {} ms", indexed, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void index(Note note) {
+        if (note.getId() != null && note.getUser() != null) {
+            userIndex(note.getUser().getId()).add(note.getId(), terms(note.getTitle(), note.getText()), true);
+        }
+    }
+
+    public void remove(Note note) {
+        if (note.getId() == null || note.getUser() == null) {
+            return;
+        }
+
+        if (!ready) {
+            removedDuringRebuild.add(note.getId());
+        }
+
+        UserIndex userIndex = users.get(note.getUser().getId());
+        if (userIndex != null) {
+            userIndex.remove(note.getId());
+        }
+    }
+
+    /**
+     * @param userId - owner of the notes to search
+     * @param query  - words to look for, each one also matching the words it is a prefix of
+     * @param limit  - maximum number of ids returned
+     * @return ids of the matching notes, best match first
+     */
+    public List<Long> search(Long userId, String query, int limit) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        UserIndex userIndex = users.get(userId);
+        if (queryTerms.isEmpty() || userIndex == null) {
+            return List.of();
+        }
+
+        return userIndex.match(queryTerms).values().stream()
+                .sorted(Comparator.comparingInt(Match::matchedTerms).reversed()
+                        .thenComparing(Comparator.comparingDouble(Match::score).reversed())
+                        .thenComparing(Comparator.comparingLong(Match::noteId).reversed()))
+                .limit(limit)
+                .map(Match::noteId)
+                .toList();
+    }
+
+    public int size() {
+        return users.values().stream().mapToInt(UserIndex::size).sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("notes.search.documents", this, NoteSearchIndex::size)
+                .register(registry);
+    }
+
+    private UserIndex userIndex(Long userId) {
+        return users.computeIfAbsent(userId, id -> new UserIndex());
+    }
+
+    static List<String> tokenize(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(value.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+
+        return tokens;
+    }
+
+    private static Map<String, Integer> terms(String title, String text) {
+        Map<String, Integer> terms = new HashMap<>();
+        tokenize(title).forEach(token -> terms.merge(token, TITLE_WEIGHT, Integer::sum));
+        tokenize(text).forEach(token -> terms.merge(token, 1, Integer::sum));
+
+        return terms;
+    }
+
+    private record Match(long noteId, int matchedTerms, double score) {
+    }
+
+    private static final class UserIndex {
+        private final Map<Long, String[]> documents = new HashMap<>();
+        private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+        synchronized void add(Long noteId, Map<String, Integer> terms, boolean replace) {
+            if (documents.containsKey(noteId)) {
+                if (!replace) {
+                    return;
+                }
+                remove(noteId);
+            }
+
+            documents.put(noteId, terms.keySet().toArray(String[]::new));
+            terms.forEach((term, weight) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(noteId, weight));
+        }
+
+        synchronized void remove(Long noteId) {
+            String[] terms = documents.remove(noteId);
+            if (terms == null) {
+                return;
+            }
+
+            for (String term : terms) {
+                Map<Long, Integer> notes = postings.get(term);
+                notes.remove(noteId);
+                if (notes.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+
+        synchronized int size() {
+            return documents.size();
+        }
+
+        synchronized Map<Long, Match> match(List<String> queryTerms) {
+            Map<Long, Match> matches = new HashMap<>();
+
+            for (String queryTerm : queryTerms) {
+                Map<Long, Integer> termWeights = new HashMap<>();
+                postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).forEach((term, notes) -> {
+                    int boost = term.equals(queryTerm) ? EXACT_MATCH_WEIGHT : 1;
+                    notes.forEach((noteId, weight) -> termWeights.merge(noteId, weight * boost, Math::max));
+                });
+
+                double idf = Math.log(1 + (double) documents.size() / Math.max(1, termWeights.size()));
+                termWeights.forEach((noteId, weight) -> matches.merge(noteId, new Match(noteId, 1, weight * idf),
+                        (current, added) -> new Match(noteId, current.matchedTerms() + 1, current.score() + added.score())));
+            }
+
+            return matches;
+        }
+    }
+}
@@ -8,6 +8,8 @@ import com.itextpdf.text.DocumentException;
 import org.springframework.http.HttpHeaders;
 
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
@@ -27,13 +29,19 @@ public interface NoteService {
 
     List<Note> getLatestNotes(User user);
 
-    List<Note> getNotesBetweenDates(LocalDate startDate, LocalDate endDate);
+    List<Note> getNotesBetweenDates(User user, LocalDate startDate, LocalDate endDate);
 
-    HttpHeaders downloadNote(Note note, FileType type);
+    NoteExport exportNote(Note note, FileType type);
+
+    HttpHeaders downloadNote(NoteExport export);
 
     String createTextFileContent(Note note);
 
     byte[] createPdfContent(Note note);
 
     byte[] createDocxContent(Note note);
+
+    HttpHeaders streamNoteHeaders(Note note, FileType type);
+
+    void writeNoteContent(Note note, FileType type, OutputStream outputStream) throws IOException;
 }
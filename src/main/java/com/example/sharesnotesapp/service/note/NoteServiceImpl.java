@@ -17,7 +17,6 @@ import org.apache.poi.xwpf.usermodel.XWPFParagraph;
 import org.apache.poi.xwpf.usermodel.XWPFRun;
 import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 
 import javax.persistence.EntityNotFoundException;
@@ -25,6 +24,10 @@ import javax.persistence.EntityNotFoundException;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -32,9 +35,14 @@ import java.util.Optional;
 @Service
 @RequiredArgsConstructor
 public class NoteServiceImpl implements NoteService {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
 
     private final NoteRepository noteRepository;
     private final UserRepository userRepository;
+    private final NoteExportCache exportCache;
+    private final NoteSearchIndex searchIndex;
+    private final NoteRowCache noteRowCache;
 
     @Override
     public Note saveNote(Long userId, NoteRequestDto noteRequestDto) {
@@ -52,16 +60,20 @@ public class NoteServiceImpl implements NoteService {
                 .grade(noteRequestDto.getGrade())
                 .build();
 
-        return noteRepository.save(createdNote);
+        Note savedNote = noteRepository.save(createdNote);
+        searchIndex.index(savedNote);
+
+        return savedNote;
     }
 
     @Override
     public void deleteNote(Long id) {
-        if (noteRepository.findById(id).isEmpty()) {
-            throw new EntityNotFoundException("Note does not exist");
-        }
+        Note deletedNote = noteRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Note does not exist"));
 
         noteRepository.deleteById(id);
+        exportCache.evict(id);
+        noteRowCache.invalidate(id);
+        searchIndex.remove(deletedNote);
     }
 
     @Override
@@ -80,16 +92,21 @@ public class NoteServiceImpl implements NoteService {
             updatedNote.setGrade(noteRequestDto.getGrade());
         }
 
-        return noteRepository.save(updatedNote);
+        Note savedNote = noteRepository.save(updatedNote);
+        exportCache.evict(id);
+        noteRowCache.invalidate(id);
+        searchIndex.index(savedNote);
+
+        return savedNote;
     }
 
 
     @Override
     public Optional<Note> getNoteById(Long id) {
-        if (noteRepository.findById(id).isEmpty()) {
-            throw new EntityNotFoundException(String.format("Note with id %s does not exist", id));
-        }
-        return noteRepository.findById(id);
+        Note note = noteRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(String.format("Note with id %s does not exist", id)));
+
+        return Optional.of(note);
     }
 
     @Override
@@ -106,51 +123,47 @@ public class NoteServiceImpl implements NoteService {
         return noteRepository.getNotesByUserOrderByDateDesc(user);
     }
 
+    static int pageSize(Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be a positive integer");
+        }
+
+        return Math.min(pageSize, MAX_PAGE_SIZE);
+    }
+
     @Override
     public List<Note> getLatestNotes(User user) {
         return noteRepository.getFirst5ByUserOrderByDateDesc(user);
     }
 
     @Override
-    public List<Note> getNotesBetweenDates(LocalDate startDate, LocalDate endDate) {
-        return noteRepository.getNotesByDateBetweenOrderByDateAsc(startDate, endDate);
+    public List<Note> getNotesBetweenDates(User user, LocalDate startDate, LocalDate endDate) {
+        return noteRepository.getNotesByUserAndDateBetweenOrderByDateAscIdAsc(user, startDate, endDate);
+    }
+
+    @Override
+    public NoteExport exportNote(Note note, FileType type) {
+        return switch (type) {
+            case txt -> new NoteExport(note, type, createTextFileContent(note).getBytes(StandardCharsets.UTF_8));
+            case pdf -> exportCache.getOrRender(note, type, () -> new NoteExport(note, type, createPdfContent(note)));
+            case docx -> exportCache.getOrRender(note, type, () -> new NoteExport(note, type, createDocxContent(note)));
+        };
     }
 
     @Override
-    public HttpHeaders downloadNote(Note note, FileType type) {
+    public HttpHeaders downloadNote(NoteExport export) {
         HttpHeaders headers = new HttpHeaders();
-        String filename = "note_" + note.getTitle() + "_" + note.getDate() + ".";
-
-        if (type.equals(FileType.txt)) {
-            headers.setContentType(MediaType.TEXT_PLAIN);
-            headers.setContentLength(createTextFileContent(note).getBytes().length);
-            headers.setContentDisposition(ContentDisposition
-                    .attachment()
-                    .filename(filename.concat(FileType.txt.toString()))
-                    .build());
-
-        } else if (type.equals(FileType.pdf)) {
-
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentLength(createPdfContent(note).length);
-            headers.setContentDisposition(ContentDisposition
-                    .attachment()
-                    .filename(filename.concat(FileType.pdf.toString()))
-                    .build());
-
-        } else if (type.equals(FileType.docx)) {
-            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-            headers.setContentLength(createDocxContent(note).length);
-            headers.setContentDisposition(ContentDisposition
-                    .attachment()
-                    .filename(filename.concat(FileType.docx.toString()))
-                    .build());
-        }
+        headers.setContentType(export.getMediaType());
+        headers.setContentLength(export.getContentLength());
+        headers.setContentDisposition(ContentDisposition
+                .attachment()
+                .filename(export.getFilename())
+                .build());
 
         return headers;
     }
 
-
     @Override
     public String createTextFileContent(Note note) {
         return "Title: " + note.getTitle() + " " + note.getDate() + "\n\n" +
@@ -160,11 +173,64 @@ public class NoteServiceImpl implements NoteService {
 
     @Override
     public byte[] createPdfContent(Note note) {
-        Document document = new Document();
-        byte[] pdfBytes;
         ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        writePdfContent(note, byteArrayOutputStream);
+
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    @Override
+    public byte[] createDocxContent(Note note) {
+        try {
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+            writeDocxContent(note, byteArrayOutputStream);
+
+            return byteArrayOutputStream.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Error while creating DOCX content", e);
+        }
+    }
+
+    @Override
+    public HttpHeaders streamNoteHeaders(Note note, FileType type) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(NoteExport.mediaTypeFor(type));
+        headers.setContentDisposition(ContentDisposition
+                .attachment()
+                .filename(NoteExport.filenameFor(note, type))
+                .build());
+
+        return headers;
+    }
+
+    @Override
+    public void writeNoteContent(Note note, FileType type, OutputStream outputStream) throws IOException {
+        NoteExport cachedExport = type == FileType.txt ? null : exportCache.getIfPresent(note, type);
+        if (cachedExport != null) {
+            cachedExport.writeTo(outputStream);
+            return;
+        }
+
+        switch (type) {
+            case txt -> writeTextFileContent(note, outputStream);
+            case pdf -> writePdfContent(note, outputStream);
+            case docx -> writeDocxContent(note, outputStream);
+        }
+
+        outputStream.flush();
+    }
+
+    private void writeTextFileContent(Note note, OutputStream outputStream) throws IOException {
+        Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        writer.write(createTextFileContent(note));
+        writer.flush();
+    }
+
+    private void writePdfContent(Note note, OutputStream outputStream) {
+        Document document = new Document();
         try {
-            PdfWriter.getInstance(document, byteArrayOutputStream);
+            PdfWriter pdfWriter = PdfWriter.getInstance(document, outputStream);
+            pdfWriter.setCloseStream(false);
             document.open();
 
             document.add(new Paragraph("Title: " + note.getTitle()));
@@ -174,16 +240,12 @@ public class NoteServiceImpl implements NoteService {
             document.add(new Paragraph("Grade: " + note.getGrade()));
 
             document.close();
-            pdfBytes = byteArrayOutputStream.toByteArray();
         } catch (DocumentException e) {
             throw new RuntimeException("Error creating PDF document", e);
         }
-
-        return pdfBytes;
     }
 
-    @Override
-    public byte[] createDocxContent(Note note) {
+    private void writeDocxContent(Note note, OutputStream outputStream) throws IOException {
         try (XWPFDocument document = new XWPFDocument()) {
             // Create a title paragraph
             XWPFParagraph titleParagraph = document.createParagraph();
@@ -211,12 +273,8 @@ public class NoteServiceImpl implements NoteService {
             XWPFRun gradeRun = gradeParagraph.createRun();
             gradeRun.setText("Grade: " + note.getGrade());
 
-            // Write the document to a byte array output stream
-            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-            document.write(byteArrayOutputStream);
-            return byteArrayOutputStream.toByteArray();
-        } catch (IOException e) {
-            throw new RuntimeException("Error while creating DOCX content", e);
+            // Write the document directly to the target stream
+            document.write(outputStream);
         }
     }
 }
@@ -0,0 +1,10 @@
+package com.example.sharesnotesapp.service.request;
+
+/**
+ * Published when two users become friends or stop being friends, handled after the transaction commits
+ *
+ * @param userId   - one of the users
+ * @param friendId - the other user
+ */
+public record FriendshipChangedEvent(Long userId, Long friendId) {
+}
@@ -0,0 +1,34 @@
+package com.example.sharesnotesapp.service.request;
+
+import com.example.sharesnotesapp.config.AsyncConfiguration;
+import com.example.sharesnotesapp.security.PrincipalCache;
+import com.example.sharesnotesapp.service.user.UserResponseCache;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+
+/**
+ * Follow-up work for friendship changes, run on the event executor once the change is committed so it
+ * does not add to the latency of the request that made it
+ */
+@Component
+@RequiredArgsConstructor
+public class FriendshipEventListener {
+    private static final Logger logger = LoggerFactory.getLogger(FriendshipEventListener.class);
+
+    private final PrincipalCache principalCache;
+    private final UserResponseCache userResponseCache;
+
+    @Async(AsyncConfiguration.EVENT_EXECUTOR)
+    @TransactionalEventListener
+    public void onFriendshipChanged(FriendshipChangedEvent event) {
+        principalCache.invalidateUsers(Set.of(event.userId(), event.friendId()));
+        userResponseCache.invalidateUsers(Set.of(event.userId(), event.friendId()));
+        logger.debug("Friendship between users {} and {} changed", event.userId(), event.friendId());
+    }
+}
@@ -1,13 +1,15 @@
 package com.example.sharesnotesapp.service.request;
 
 import com.example.sharesnotesapp.model.Request;
+import com.example.sharesnotesapp.model.Status;
 import com.example.sharesnotesapp.model.User;
 import com.example.sharesnotesapp.model.dto.request.RequestRequestDto;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface RequestService {
-    void checkRequests(List<Request> requests);
+    void checkRequests(Collection<Status> statuses);
     Request sendRequest(RequestRequestDto requestDto);
     void deleteRequest(Long id);
     void acceptRequest(Long id);
@@ -1,5 +1,6 @@
 package com.example.sharesnotesapp.service.request;
 
+import com.example.sharesnotesapp.cache.SecondLevelCache;
 import com.example.sharesnotesapp.model.Request;
 import com.example.sharesnotesapp.model.Status;
 import com.example.sharesnotesapp.model.User;
@@ -7,33 +8,46 @@ import com.example.sharesnotesapp.model.dto.request.RequestRequestDto;
 import com.example.sharesnotesapp.repository.RequestRepository;
 import com.example.sharesnotesapp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class RequestServiceImpl implements RequestService {
+    private static final List<Status> BLOCKING_STATUSES = List.of(Status.PENDING, Status.ACCEPTED);
+
     private final RequestRepository requestRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SecondLevelCache secondLevelCache;
 
+    /**
+     * @param statuses - statuses of the requests already exchanged between two users, in either direction
+     */
     @Override
-    public void checkRequests(List<Request> requests) {
-        if (!requests.isEmpty()) {
-            for (Request request : requests) {
-                if (request.getStatus().equals(Status.PENDING)) {
-                    throw new IllegalArgumentException("There is already a request created");
-                } else if (request.getStatus().equals(Status.ACCEPTED)) {
-                    throw new IllegalArgumentException("Cannot send another request");
-                }
-            }
+    public void checkRequests(Collection<Status> statuses) {
+        if (statuses.contains(Status.PENDING)) {
+            throw new IllegalArgumentException("There is already a request created");
+        } else if (statuses.contains(Status.ACCEPTED)) {
+            throw new IllegalArgumentException("Cannot send another request");
         }
     }
 
+    /**
+     * Locks both users in id order before looking for existing requests, so a second request for the same
+     * pair waits for the first transaction and then sees its pending request instead of creating another one.
+     * Read committed lets the lookup after the lock see rows committed while waiting.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     @Override
     public Request sendRequest(RequestRequestDto requestDto) {
         User sender = userRepository.findById(requestDto.getSenderId())
@@ -45,11 +59,8 @@ public class RequestServiceImpl implements RequestService {
             throw new IllegalArgumentException("Cannot send a request to yourself");
         }
 
-        List<Request> existingRequests = requestRepository.getRequestsBySenderAndReceiver(sender, receiver);
-        List<Request> requestsFromReceiver = requestRepository.getRequestsBySenderAndReceiver(receiver, sender);
-
-        checkRequests(existingRequests);
-        checkRequests(requestsFromReceiver);
+        userRepository.lockUsers(List.of(sender.getId(), receiver.getId()));
+        checkRequests(requestRepository.findStatusesBetween(sender.getId(), receiver.getId(), BLOCKING_STATUSES));
 
         Request request = Request.builder()
                 .sender(sender)
@@ -71,16 +82,21 @@ public class RequestServiceImpl implements RequestService {
         requestRepository.deleteById(id);
     }
 
+    /**
+     * Accepts the request and stores the friendship in one transaction. The request row stays locked until
+     * the commit, so accepting the same request twice at once fails for the second call.
+     */
+    @Transactional
     @Override
     public void acceptRequest(Long id) {
-        Request request = requestRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Request does not exist"));
+        Request request = requestRepository.findByIdForUpdate(id).orElseThrow(() -> new EntityNotFoundException("Request does not exist"));
         if (!request.getStatus().equals(Status.PENDING)) {
             throw new IllegalArgumentException("Cannot accept a non-pending request");
         }
 
         request.setStatus(Status.ACCEPTED);
-        requestRepository.save(request);
         addToFriendList(request.getSender(), request.getReceiver());
+        eventPublisher.publishEvent(new FriendshipChangedEvent(request.getSender().getId(), request.getReceiver().getId()));
     }
 
     @Override
@@ -110,9 +126,14 @@ public class RequestServiceImpl implements RequestService {
                 .orElseThrow(() -> new EntityNotFoundException(String.format("Request with id %s does not exist", id)));
     }
 
+    /**
+     * Stores both directions of the friendship with one insert, the unique key on user_friends rejects a
+     * friendship created concurrently by another request
+     */
+    @Transactional
     @Override
     public void addToFriendList(User user, User friend) {
-        if (user.getFriendList().contains(friend) || friend.getFriendList().contains(user)) {
+        if (userRepository.areFriends(user.getId(), friend.getId())) {
             throw new IllegalArgumentException("Users are already friends");
         }
 
@@ -120,46 +141,36 @@ public class RequestServiceImpl implements RequestService {
             throw new IllegalArgumentException("Cannot add yourself to friend list");
         }
 
-        user.getFriendList().add(friend);
-        friend.getFriendList().add(user);
-        userRepository.save(user);
-        userRepository.save(friend);
+        try {
+            userRepository.addFriendship(user.getId(), friend.getId());
+            secondLevelCache.evictFriendLists(Set.of(user.getId(), friend.getId()));
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Users are already friends");
+        }
     }
 
+    /**
+     * Deletes both friendship rows and every request exchanged by the pair with two statements,
+     * without loading either user or their friend lists
+     */
     @Transactional
     @Override
     public void removeFromFriendList(User user, Long friendId) {
-        User friend = userRepository.findById(friendId)
-                .orElseThrow(() -> new EntityNotFoundException(String.format("User with id %s does not exist", friendId)));
-
-        User managedUser = userRepository.findById(user.getId())
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-
-        Hibernate.initialize(managedUser.getFriendList());
+        if (!userRepository.existsById(friendId)) {
+            throw new EntityNotFoundException(String.format("User with id %s does not exist", friendId));
+        }
 
         if (user.getId().equals(friendId)) {
             throw new IllegalArgumentException("Must provide different users");
         }
 
-        if (!managedUser.getFriendList().contains(friend) && !friend.getFriendList().contains(managedUser)) {
+        if (userRepository.removeFriendship(user.getId(), friendId) == 0) {
             throw new EntityNotFoundException("Users must be friends to remove from friend list");
         }
 
-        Hibernate.initialize(friend.getFriendList());
-
-        managedUser.getFriendList().remove(friend);
-        friend.getFriendList().remove(managedUser);
+        secondLevelCache.evictFriendLists(Set.of(user.getId(), friendId));
 
-        userRepository.save(managedUser);
-        userRepository.save(friend);
-
-        List<Request> senderRequests = requestRepository.getRequestsBySenderAndReceiver(managedUser, friend);
-        List<Request> receiverRequests = requestRepository.getRequestsBySenderAndReceiver(friend, managedUser);
-        if (!senderRequests.isEmpty()) {
-            requestRepository.deleteAll(senderRequests);
-        }
-        if (!receiverRequests.isEmpty()) {
-            requestRepository.deleteAll(receiverRequests);
-        }
+        requestRepository.deleteAllBetween(user.getId(), friendId);
+        eventPublisher.publishEvent(new FriendshipChangedEvent(user.getId(), friendId));
     }
 }
@@ -0,0 +1,15 @@
+package com.example.sharesnotesapp.service.share;
+
+import com.example.sharesnotesapp.model.User;
+import com.example.sharesnotesapp.repository.projection.ShareRow;
+
+import java.util.List;
+
+/**
+ * Share listings read as projections, so mapping them to responses does not load users and notes one by one
+ */
+public interface ShareReadService {
+    List<ShareRow> getAllSharedNotesBetweenUsers(User user, String receiverEmail);
+
+    List<ShareRow> getAllReceivedNotesBetweenUsers(User user, String senderEmail);
+}
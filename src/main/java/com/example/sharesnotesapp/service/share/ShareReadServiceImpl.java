@@ -0,0 +1,42 @@
+package com.example.sharesnotesapp.service.share;
+
+import com.example.sharesnotesapp.model.User;
+import com.example.sharesnotesapp.repository.ShareRepository;
+import com.example.sharesnotesapp.repository.UserRepository;
+import com.example.sharesnotesapp.repository.projection.ShareRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ShareReadServiceImpl implements ShareReadService {
+    private final ShareRepository shareRepository;
+    private final UserRepository userRepository;
+
+    @Override
+    public List<ShareRow> getAllSharedNotesBetweenUsers(User user, String receiverEmail) {
+        if (receiverEmail.isEmpty()) {
+            return shareRepository.findShareRowsBySender(user);
+        }
+
+        User receiver = userRepository.findUserByEmail(receiverEmail)
+                .orElseThrow(() -> new UsernameNotFoundException("User does not exist"));
+
+        return shareRepository.findShareRowsBySenderAndReceiver(user, receiver);
+    }
+
+    @Override
+    public List<ShareRow> getAllReceivedNotesBetweenUsers(User user, String senderEmail) {
+        if (senderEmail.isEmpty()) {
+            return shareRepository.findShareRowsByReceiver(user);
+        }
+
+        User sender = userRepository.findUserByEmail(senderEmail)
+                .orElseThrow(() -> new UsernameNotFoundException("User does not exist"));
+
+        return shareRepository.findShareRowsBySenderAndReceiver(sender, user);
+    }
+}
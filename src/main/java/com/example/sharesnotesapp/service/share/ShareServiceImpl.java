@@ -3,6 +3,7 @@ package com.example.sharesnotesapp.service.share;
 import com.example.sharesnotesapp.model.Note;
 import com.example.sharesnotesapp.model.Share;
 import com.example.sharesnotesapp.model.User;
+import com.example.sharesnotesapp.model.dto.response.ShareResultDto;
 import com.example.sharesnotesapp.repository.NoteRepository;
 import com.example.sharesnotesapp.repository.ShareRepository;
 import com.example.sharesnotesapp.repository.UserRepository;
@@ -12,11 +13,20 @@ import org.springframework.stereotype.Service;
 
 import javax.persistence.EntityNotFoundException;
 import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ShareServiceImpl implements ShareService {
+    public static final int MAX_RECEIVERS = 500;
+
     private final ShareRepository shareRepository;
     private final UserRepository userRepository;
     private final NoteRepository noteRepository;
@@ -38,6 +48,56 @@ public class ShareServiceImpl implements ShareService {
         return shareRepository.save(share);
     }
 
+    /**
+     * Shares the note with every receiver, loading the note once and all the receivers with one query.
+     * The shares are saved together; receivers without an account are reported instead of failing the call.
+     * Emails are deduplicated and looked up lower cased, matched through the collation of the email column
+     * like the single share lookup.
+     *
+     * @return one result per distinct email, in the order they were given
+     */
+    @Override
+    public List<ShareResultDto> shareNoteWithAll(User sender, List<String> receiverEmails, Long noteId) {
+        Map<String, String> emails = new LinkedHashMap<>();
+        receiverEmails.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(email -> !email.isEmpty())
+                .forEach(email -> emails.putIfAbsent(email.toLowerCase(Locale.ROOT), email));
+
+        if (emails.isEmpty()) {
+            throw new IllegalArgumentException("Receiver emails should not be empty");
+        }
+
+        if (emails.size() > MAX_RECEIVERS) {
+            throw new IllegalArgumentException(String.format("A note can be shared with at most %s users at once", MAX_RECEIVERS));
+        }
+
+        Note sharedNote = noteRepository.findById(noteId)
+                .orElseThrow(() -> new EntityNotFoundException("Note does not exist"));
+
+        Map<String, User> receivers = userRepository.findAllByEmailIn(emails.keySet()).stream()
+                .collect(Collectors.toMap(user -> user.getEmail().toLowerCase(Locale.ROOT), Function.identity()));
+
+        LocalDate sentAt = LocalDate.now();
+        Map<String, Share> shares = new LinkedHashMap<>();
+        emails.keySet().forEach(key -> {
+            User receiver = receivers.get(key);
+            if (receiver != null) {
+                shares.put(key, new Share(null, sender, receiver, sharedNote, sentAt));
+            }
+        });
+
+        Iterator<Share> savedShares = shareRepository.saveAll(shares.values()).iterator();
+        shares.replaceAll((key, share) -> savedShares.next());
+
+        return emails.entrySet().stream()
+                .map(email -> shares.containsKey(email.getKey())
+                        ? new ShareResultDto(email.getValue(), shares.get(email.getKey()).getId(), null)
+                        : new ShareResultDto(email.getValue(), null, "User does not exist"))
+                .toList();
+    }
+
     @Override
     public List<Share> getAllSharedNotesBetweenUsers(User user, String receiverEmail) {
         if (receiverEmail.isEmpty()) {
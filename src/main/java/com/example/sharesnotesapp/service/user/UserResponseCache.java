@@ -0,0 +1,112 @@
+package com.example.sharesnotesapp.service.user;
+
+import com.example.sharesnotesapp.cache.BoundedCache;
+import com.example.sharesnotesapp.model.dto.response.UserInfoDto;
+import com.example.sharesnotesapp.model.dto.response.UserResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Keeps the mapped profiles served by /user/{id}, friend list included. A profile is invalidated when the
+ * user, one of the listed friends or the friendships of the user change. Profiles listing a friend are found
+ * through a reverse index, so a friendship event touches only the profiles it affects.
+ */
+@Component
+public class UserResponseCache implements MeterBinder {
+    private final BoundedCache<Long, CachedUser> cache;
+    // friend id -> ids of the cached profiles listing that friend, counted per cached value so a replaced
+    // profile removed after its successor was indexed does not drop the successor's entries
+    private final ConcurrentHashMap<Long, Map<Long, Integer>> listedBy = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxSize - maximum number of cached profiles, zero disables the cache
+     * @param ttlMs   - how long a cached profile is served before it is loaded again
+     */
+    public UserResponseCache(@Value("${app.userCacheMaxSize:10000}") int maxSize,
+                             @Value("${app.userCacheTtlMs:600000}") long ttlMs) {
+        this.cache = maxSize > 0
+                ? new BoundedCache<>(maxSize, Duration.ofMillis(ttlMs), Long.MAX_VALUE, cached -> 0, cached -> index(cached, -1))
+                : null;
+    }
+
+    public UserResponseDto get(Long id, Function<Long, UserResponseDto> loader) {
+        if (cache == null) {
+            return loader.apply(id);
+        }
+
+        CachedUser cached = cache.get(id);
+        if (cached != null) {
+            return cached.user();
+        }
+
+        UserResponseDto user = loader.apply(id);
+        if (user != null) {
+            // indexed before it becomes visible, so the index never misses a cached profile
+            cached = CachedUser.of(id, user);
+            index(cached, 1);
+            cache.put(id, cached);
+        }
+
+        return user;
+    }
+
+    /**
+     * Drops the profiles of the given users and every profile listing one of them as a friend
+     */
+    public void invalidateUsers(Collection<Long> userIds) {
+        if (cache == null) {
+            return;
+        }
+
+        Set<Long> keys = new HashSet<>(userIds);
+        for (Long userId : userIds) {
+            listedBy.computeIfPresent(userId, (friendId, holders) -> {
+                keys.addAll(holders.keySet());
+                return holders;
+            });
+        }
+
+        keys.forEach(cache::invalidate);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (cache != null) {
+            cache.bindTo(registry, "users");
+        }
+    }
+
+    private void index(CachedUser cached, int delta) {
+        for (Long friendId : cached.friendIds()) {
+            listedBy.compute(friendId, (key, holders) -> {
+                Map<Long, Integer> updated = holders != null ? holders : new HashMap<>();
+                updated.merge(cached.id(), delta, (count, change) -> count + change == 0 ? null : count + change);
+
+                return updated.isEmpty() ? null : updated;
+            });
+        }
+    }
+
+    private record CachedUser(Long id, UserResponseDto user, List<Long> friendIds) {
+        static CachedUser of(Long id, UserResponseDto user) {
+            List<Long> friendIds = user.getFriends() == null ? List.of() : user.getFriends().stream()
+                    .map(UserInfoDto::getId)
+                    .distinct()
+                    .toList();
+
+            return new CachedUser(id, user, friendIds);
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package com.example.sharesnotesapp.service.user;
 
+import com.example.sharesnotesapp.cache.SecondLevelCache;
 import com.example.sharesnotesapp.model.User;
 import com.example.sharesnotesapp.model.dto.request.UserNameDto;
 import com.example.sharesnotesapp.model.dto.request.UserRequestDto;
 import com.example.sharesnotesapp.repository.UserRepository;
+import com.example.sharesnotesapp.security.PrincipalCache;
+import com.example.sharesnotesapp.service.note.NoteRowCache;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import org.hibernate.Hibernate;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -17,6 +19,7 @@ import javax.persistence.EntityNotFoundException;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -24,23 +27,26 @@ import java.util.Optional;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final UserResponseCache userResponseCache;
+    private final NoteRowCache noteRowCache;
+    private final SecondLevelCache secondLevelCache;
 
 
     @Override
     public Optional<User> getUserById(Long id) {
-        if (userRepository.findById(id).isEmpty()) {
-            throw new EntityNotFoundException(String.format("User with id %s does not exist", id));
-        }
-        return userRepository.findById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(String.format("User with id %s does not exist", id)));
+
+        return Optional.of(user);
     }
 
     @Override
     public Optional<User> getUserByEmail(String email) {
-        if (userRepository.findUserByEmail(email).isEmpty()) {
-            throw new UsernameNotFoundException(String.format("User with the address %s does not exist", email));
-        }
+        User user = userRepository.findUserByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException(String.format("User with the address %s does not exist", email)));
 
-        return userRepository.findUserByEmail(email);
+        return Optional.of(user);
     }
 
     /**
@@ -80,10 +86,14 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public void deleteUser(Long id) {
-        if (userRepository.findById(id).isEmpty()) {
-            throw new EntityNotFoundException("User does not exist");
-        }
+        User userToDelete = userRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("User does not exist"));
+
         userRepository.deleteById(id);
+        secondLevelCache.evictUserDependents();
+        principalCache.invalidate(userToDelete.getEmail());
+        userResponseCache.invalidateUsers(Set.of(id));
+        noteRowCache.invalidateUser(id);
     }
 
     @Override
@@ -99,7 +109,12 @@ public class UserServiceImpl implements UserService {
             userToUpdate.setLastName(userRequestDto.getLastName());
         }
 
-        return userRepository.save(userToUpdate);
+        User updatedUser = userRepository.save(userToUpdate);
+        principalCache.invalidate(userToUpdate.getEmail());
+        userResponseCache.invalidateUsers(Set.of(id));
+        noteRowCache.invalidateUser(id);
+
+        return updatedUser;
     }
 
     @Override
@@ -112,11 +127,10 @@ public class UserServiceImpl implements UserService {
     public List<User> getUserFriends(User user) {
         User managedUser = userRepository.findById(user.getId())
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
-        Hibernate.initialize(managedUser.getFriendList());
-        List<User> friends = managedUser.getFriendList();
-        friends.sort(Comparator.comparing(User::getLastName));
 
-        return friends;
+        return managedUser.getFriendList().stream()
+                .sorted(Comparator.comparing(User::getLastName))
+                .toList();
     }
 
     @Override
@@ -136,9 +150,9 @@ public class UserServiceImpl implements UserService {
         User managedUser = userRepository.findById(currentUserId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
 
-        Hibernate.initialize(managedUser.getFriendList());
-
-        List<User> friends = managedUser.getFriendList();
+        List<User> friends = managedUser.getFriendList().stream()
+                .sorted(Comparator.comparing(User::getLastName))
+                .toList();
         if (!string.isEmpty()) {
 
             return friends.stream().filter(friend -> friend.getFirstName().toLowerCase().contains(string.toLowerCase()) ||
@@ -0,0 +1,106 @@
+package com.example.sharesnotesapp.benchmark;
+
+import com.example.sharesnotesapp.model.Request;
+import com.example.sharesnotesapp.model.Status;
+import com.example.sharesnotesapp.model.User;
+import com.example.sharesnotesapp.repository.RequestRepository;
+import com.example.sharesnotesapp.repository.UserRepository;
+import com.example.sharesnotesapp.service.request.RequestService;
+import org.hibernate.Hibernate;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes one friend of a user with a growing friend list from an in-memory H2 database, once through
+ * RequestService and once through the previous path, which loaded both users and their friend lists and
+ * deleted the requests of the pair entity by entity. Only the second one grows with the friend count.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FriendRemovalBenchmark {
+    private static final int REQUESTS_PER_PAIR = 3;
+
+    @Param({"10", "1000", "10000"})
+    private int friendCount;
+
+    private ConfigurableApplicationContext context;
+    private RequestService requestService;
+    private UserRepository userRepository;
+    private RequestRepository requestRepository;
+    private TransactionTemplate transactionTemplate;
+    private User user;
+    private User friend;
+
+    @Setup
+    public void setup() {
+        context = H2Application.start("friend-removal");
+        requestService = context.getBean(RequestService.class);
+        userRepository = context.getBean(UserRepository.class);
+        requestRepository = context.getBean(RequestRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        user = userRepository.save(new User(null, "User", "User", "user@example.com", "test123"));
+        friend = userRepository.save(new User(null, "Friend", "Friend", "friend@example.com", "test123"));
+
+        List<User> others = new ArrayList<>();
+        for (int i = 0; i < friendCount; i++) {
+            others.add(new User(null, "Other", "Other" + i, "other" + i + "@example.com", "test123"));
+        }
+
+        List<User> savedOthers = userRepository.saveAll(others);
+        transactionTemplate.executeWithoutResult(status -> savedOthers.forEach(other -> {
+            userRepository.addFriendship(user.getId(), other.getId());
+            userRepository.addFriendship(friend.getId(), other.getId());
+        }));
+    }
+
+    @Setup(Level.Invocation)
+    public void befriend() {
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.addFriendship(user.getId(), friend.getId());
+            for (int i = 0; i < REQUESTS_PER_PAIR; i++) {
+                Request request = requestRepository.save(new Request(null, user, friend, null, LocalDateTime.now()));
+                request.setStatus(Status.ACCEPTED);
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void removeFriend() {
+        requestService.removeFromFriendList(user, friend.getId());
+    }
+
+    @Benchmark
+    public void removeFriendThroughFriendLists() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User managedUser = userRepository.findById(user.getId()).orElseThrow();
+            User managedFriend = userRepository.findById(friend.getId()).orElseThrow();
+            Hibernate.initialize(managedUser.getFriendList());
+            Hibernate.initialize(managedFriend.getFriendList());
+
+            managedUser.getFriendList().remove(managedFriend);
+            managedFriend.getFriendList().remove(managedUser);
+            userRepository.save(managedUser);
+            userRepository.save(managedFriend);
+
+            requestRepository.deleteAll(requestRepository.getRequestsBySenderAndReceiver(managedUser, managedFriend));
+            requestRepository.deleteAll(requestRepository.getRequestsBySenderAndReceiver(managedFriend, managedUser));
+        });
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.sharesnotesapp.benchmark;
+
+import com.example.sharesnotesapp.security.jwt.JwtUtils;
+import com.example.sharesnotesapp.security.jwt.VerifiedJwt;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signs a token, parses one on every call and verifies a token that is already in the verified token cache,
+ * which is what AuthTokenFilter does for each request after the first one with the same token.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "benchmark-secret");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86400000);
+        ReflectionTestUtils.setField(jwtUtils, "jwtCacheMaxSize", 10000);
+        jwtUtils.initVerifiedTokenCache();
+        token = jwtUtils.generateTokenFromUsername("user@example.com");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateTokenFromUsername("user@example.com");
+    }
+
+    @Benchmark
+    public String parseToken() {
+        return jwtUtils.getUserNameFromJwtToken(token);
+    }
+
+    @Benchmark
+    public VerifiedJwt verifyCachedToken() {
+        return jwtUtils.verifyJwtToken(token).orElseThrow();
+    }
+}
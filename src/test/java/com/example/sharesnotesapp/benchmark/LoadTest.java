@@ -0,0 +1,178 @@
+package com.example.sharesnotesapp.benchmark;
+
+import com.example.sharesnotesapp.security.jwt.JwtUtils;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Boots the application on an in-memory H2 database, seeds a synthetic dataset ({@link LoadTestDataset}) and
+ * drives a weighted mix of login, list, filter, share and download requests from concurrent clients. After the
+ * warmup, throughput and the p50/p99/p99.9 latencies are measured per operation:
+ * mvn -Ploadtest -DskipTests test -Dloadtest="users=1000 clients=64 durationSeconds=60 app.virtualThreads=true"
+ */
+public final class LoadTest {
+    static final List<String> OPERATIONS = List.of("login", "list", "filter", "share", "download");
+
+    private final LoadTestSettings settings;
+    private final LoadTestDataset dataset;
+    private final String baseUrl;
+    private final List<String> tokens = new ArrayList<>();
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final Map<String, Stats> stats = new LinkedHashMap<>();
+    private final String[] weightedOperations;
+    private volatile boolean running = true;
+
+    private LoadTest(LoadTestSettings settings, ConfigurableApplicationContext context, LoadTestDataset dataset) {
+        this.settings = settings;
+        this.dataset = dataset;
+        this.baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+        JwtUtils jwtUtils = context.getBean(JwtUtils.class);
+        for (int i = 0; i < dataset.size(); i++) {
+            tokens.add(jwtUtils.generateTokenFromUsername(dataset.user(i).getEmail()));
+        }
+
+        List<String> operations = new ArrayList<>();
+        settings.mix().forEach((operation, weight) -> {
+            stats.put(operation, new Stats());
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        });
+        weightedOperations = operations.toArray(String[]::new);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        String[] properties = settings.properties().toArray(String[]::new);
+
+        try (ConfigurableApplicationContext context = H2Application.start("load-test", properties)) {
+            long seedStart = System.nanoTime();
+            LoadTestDataset dataset = LoadTestDataset.seed(context, settings);
+            System.out.printf("Seeded %d users with %d friends, %d notes, %d shares and %d requests each in %d ms%n",
+                    settings.users(), settings.friendsPerUser() / 2 * 2, settings.notesPerUser(), settings.sharesPerUser(),
+                    settings.requestsPerUser(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+
+            new LoadTest(settings, context, dataset).run();
+        }
+    }
+
+    private void run() throws InterruptedException {
+        ExecutorService clients = Executors.newFixedThreadPool(settings.clients());
+        for (int i = 0; i < settings.clients(); i++) {
+            Random random = new Random(i);
+            clients.execute(() -> {
+                while (running) {
+                    send(weightedOperations[random.nextInt(weightedOperations.length)], random);
+                }
+            });
+        }
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(settings.warmupSeconds()));
+        stats.values().forEach(Stats::reset);
+        long start = System.nanoTime();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(settings.durationSeconds()));
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Map<String, Histogram> snapshots = new LinkedHashMap<>();
+        stats.forEach((operation, operationStats) -> snapshots.put(operation, operationStats.latencies.copy()));
+
+        running = false;
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.MINUTES);
+        report(snapshots, seconds);
+    }
+
+    private void send(String operation, Random random) {
+        int index = random.nextInt(dataset.size());
+        HttpRequest request = switch (operation) {
+            case "login" -> HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"" + LoadTestDataset.email(index)
+                            + "\",\"password\":\"" + LoadTestDataset.PASSWORD + "\"}"))
+                    .build();
+            case "list" -> authorized(index, "/notes/page?size=20").GET().build();
+            case "filter" -> authorized(index, "/notes/filter/page?size=20&string=" + URLEncoder.encode(
+                    LoadTestDataset.TITLE_WORDS.get(random.nextInt(LoadTestDataset.TITLE_WORDS.size())), StandardCharsets.UTF_8))
+                    .GET().build();
+            case "share" -> authorized(index, "/share/" + dataset.note(index, random))
+                    .header("Content-Type", "text/plain")
+                    .POST(HttpRequest.BodyPublishers.ofString(dataset.friend(index, random).getEmail()))
+                    .build();
+            case "download" -> authorized(index, "/notes/" + dataset.note(index, random) + "/download?type="
+                    + settings.downloadTypes().get(random.nextInt(settings.downloadTypes().size())))
+                    .GET().build();
+            default -> throw new IllegalArgumentException("Unknown operation " + operation);
+        };
+
+        Stats operationStats = stats.get(operation);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+                operationStats.errors.increment();
+                return;
+            }
+        } catch (Exception e) {
+            if (running) {
+                operationStats.errors.increment();
+            }
+            return;
+        }
+        operationStats.latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+    }
+
+    private HttpRequest.Builder authorized(int index, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Authorization", "Bearer " + tokens.get(index));
+    }
+
+    private void report(Map<String, Histogram> snapshots, double seconds) {
+        System.out.printf("%n%d clients for %.1f s%n", settings.clients(), seconds);
+        System.out.printf("%-10s %10s %8s %10s %10s %10s %10s %10s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Map.Entry<String, Histogram> entry : snapshots.entrySet()) {
+            long errors = stats.get(entry.getKey()).errors.sum();
+            printRow(entry.getKey(), entry.getValue(), errors, seconds);
+            total.add(entry.getValue());
+            totalErrors += errors;
+        }
+        printRow("total", total, totalErrors, seconds);
+    }
+
+    private static void printRow(String name, Histogram latencies, long errors, double seconds) {
+        System.out.printf("%-10s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                name, latencies.getTotalCount(), errors, latencies.getTotalCount() / seconds,
+                latencies.getValueAtPercentile(50) / 1000.0, latencies.getValueAtPercentile(99) / 1000.0,
+                latencies.getValueAtPercentile(99.9) / 1000.0, latencies.getMaxValue() / 1000.0);
+    }
+
+    private static class Stats {
+        // microseconds, resized as needed
+        private final Histogram latencies = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+
+        private void reset() {
+            latencies.reset();
+            errors.reset();
+        }
+    }
+}
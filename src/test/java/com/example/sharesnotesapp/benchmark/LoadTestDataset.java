@@ -0,0 +1,124 @@
+package com.example.sharesnotesapp.benchmark;
+
+import com.example.sharesnotesapp.model.Note;
+import com.example.sharesnotesapp.model.Request;
+import com.example.sharesnotesapp.model.Share;
+import com.example.sharesnotesapp.model.User;
+import com.example.sharesnotesapp.repository.NoteRepository;
+import com.example.sharesnotesapp.repository.RequestRepository;
+import com.example.sharesnotesapp.repository.ShareRepository;
+import com.example.sharesnotesapp.repository.UserRepository;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic users, friend graph, notes, shares and pending requests for a load test. User i is a friend of the
+ * next friendsPerUser / 2 users (wrapping around) and of the previous ones, and has pending requests to the
+ * users right after its friends. Note titles are drawn from {@link #TITLE_WORDS} so filters have hits.
+ */
+final class LoadTestDataset {
+    static final String PASSWORD = "loadtest123";
+    static final List<String> TITLE_WORDS = List.of("math", "history", "physics", "biology", "chemistry", "music",
+            "art", "literature", "geography", "economics");
+
+    private final List<User> users = new ArrayList<>();
+    private final List<List<Long>> noteIds = new ArrayList<>();
+    private final int friendsPerSide;
+
+    private LoadTestDataset(int friendsPerSide) {
+        this.friendsPerSide = friendsPerSide;
+    }
+
+    static LoadTestDataset seed(ConfigurableApplicationContext context, LoadTestSettings settings) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        NoteRepository noteRepository = context.getBean(NoteRepository.class);
+        ShareRepository shareRepository = context.getBean(ShareRepository.class);
+        RequestRepository requestRepository = context.getBean(RequestRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        Random random = new Random(42);
+
+        LoadTestDataset dataset = new LoadTestDataset(settings.friendsPerUser() / 2);
+        int userCount = settings.users();
+        // one hash for everyone, encoding thousands of passwords would dominate the seeding
+        String password = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            users.add(new User(null, "First" + i, "Last" + i, email(i), password));
+        }
+        dataset.users.addAll(userRepository.saveAll(users));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < userCount; i++) {
+                for (int k = 1; k <= dataset.friendsPerSide; k++) {
+                    userRepository.addFriendship(dataset.users.get(i).getId(), dataset.users.get((i + k) % userCount).getId());
+                }
+            }
+        });
+
+        String text = "lorem ipsum ".repeat(settings.noteLength() / 12 + 1).substring(0, settings.noteLength());
+        for (User user : dataset.users) {
+            List<Note> notes = new ArrayList<>();
+            for (int n = 0; n < settings.notesPerUser(); n++) {
+                notes.add(Note.builder()
+                        .user(user)
+                        .title(TITLE_WORDS.get(random.nextInt(TITLE_WORDS.size())) + " " + n)
+                        .text(text)
+                        .date(LocalDate.now().minusDays(random.nextInt(365)))
+                        .grade(1 + random.nextInt(10))
+                        .build());
+            }
+            dataset.noteIds.add(noteRepository.saveAll(notes).stream().map(Note::getId).toList());
+        }
+
+        List<Share> shares = new ArrayList<>();
+        List<Request> requests = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            User sender = dataset.users.get(i);
+            for (int s = 0; s < settings.sharesPerUser(); s++) {
+                Note note = noteRepository.getReferenceById(dataset.noteIds.get(i).get(s % settings.notesPerUser()));
+                shares.add(new Share(null, sender, dataset.friend(i, random), note, LocalDate.now()));
+            }
+            for (int r = 1; r <= settings.requestsPerUser(); r++) {
+                User receiver = dataset.users.get((i + dataset.friendsPerSide + r) % userCount);
+                requests.add(new Request(null, sender, receiver, null, LocalDateTime.now()));
+            }
+        }
+        shareRepository.saveAll(shares);
+        requestRepository.saveAll(requests);
+
+        return dataset;
+    }
+
+    static String email(int index) {
+        return "user" + index + "@loadtest.example.com";
+    }
+
+    int size() {
+        return users.size();
+    }
+
+    User user(int index) {
+        return users.get(index);
+    }
+
+    Long note(int index, Random random) {
+        List<Long> ids = noteIds.get(index);
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    /**
+     * @return a friend of the user, or the next user when the dataset has no friendships
+     */
+    User friend(int index, Random random) {
+        int offset = friendsPerSide == 0 ? 1 : 1 + random.nextInt(friendsPerSide);
+        return users.get((index + (random.nextBoolean() ? offset : users.size() - offset)) % users.size());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.sharesnotesapp.benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Size of the synthetic dataset and shape of the traffic of a load test run. Every setting can be changed with
+ * a key=value argument, other arguments containing "=" are passed to the application as properties.
+ *
+ * @param noteLength - characters of note text, at most 255 as that is the size of the column
+ * @param mix - relative weight of each operation, e.g. "login:5,list:35,filter:25,share:15,download:20"
+ */
+record LoadTestSettings(int users, int friendsPerUser, int notesPerUser, int sharesPerUser, int requestsPerUser,
+                        int noteLength, int clients, int warmupSeconds, int durationSeconds,
+                        Map<String, Integer> mix, List<String> downloadTypes, List<String> properties) {
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("users", "200"),
+            Map.entry("friendsPerUser", "10"),
+            Map.entry("notesPerUser", "20"),
+            Map.entry("sharesPerUser", "5"),
+            Map.entry("requestsPerUser", "2"),
+            Map.entry("noteLength", "200"),
+            Map.entry("clients", "32"),
+            Map.entry("warmupSeconds", "5"),
+            Map.entry("durationSeconds", "30"),
+            Map.entry("mix", "login:5,list:35,filter:25,share:15,download:20"),
+            Map.entry("downloadTypes", "txt,pdf"));
+
+    static LoadTestSettings parse(String... args) {
+        Map<String, String> values = new LinkedHashMap<>(DEFAULTS);
+        List<String> properties = new ArrayList<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected key=value but got " + arg);
+            }
+
+            String key = arg.substring(0, separator);
+            if (DEFAULTS.containsKey(key)) {
+                values.put(key, arg.substring(separator + 1));
+            } else {
+                properties.add(arg);
+            }
+        }
+
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String weight : values.get("mix").split(",")) {
+            String[] parts = weight.split(":");
+            if (parts.length != 2 || !LoadTest.OPERATIONS.contains(parts[0])) {
+                throw new IllegalArgumentException("Unknown operation weight " + weight + ", expected one of " + LoadTest.OPERATIONS);
+            }
+            mix.put(parts[0], Integer.parseInt(parts[1]));
+        }
+
+        LoadTestSettings settings = new LoadTestSettings(
+                Integer.parseInt(values.get("users")),
+                Integer.parseInt(values.get("friendsPerUser")),
+                Integer.parseInt(values.get("notesPerUser")),
+                Integer.parseInt(values.get("sharesPerUser")),
+                Integer.parseInt(values.get("requestsPerUser")),
+                Integer.parseInt(values.get("noteLength")),
+                Integer.parseInt(values.get("clients")),
+                Integer.parseInt(values.get("warmupSeconds")),
+                Integer.parseInt(values.get("durationSeconds")),
+                mix,
+                List.of(values.get("downloadTypes").split(",")),
+                properties);
+        if (settings.users() < 2 || settings.notesPerUser() < 1
+                || settings.friendsPerUser() / 2 + settings.requestsPerUser() >= settings.users() / 2) {
+            throw new IllegalArgumentException("Need at least 2 users and 1 note per user, and fewer friends and requests than half of the users");
+        }
+
+        return settings;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.sharesnotesapp.benchmark;
+
+import com.example.sharesnotesapp.model.FileType;
+import com.example.sharesnotesapp.model.Note;
+import com.example.sharesnotesapp.service.note.NoteExport;
+import com.example.sharesnotesapp.service.note.NoteExportCache;
+import com.example.sharesnotesapp.service.note.NoteServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders a note of each file type on its own, and compares the old download path, which rendered the file once
+ * for the body and once more for the Content-Length header, with the single render of exportNote, and with
+ * exportNote served from the export cache.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NoteExportBenchmark {
+    @Param({"txt", "pdf", "docx"})
+    private FileType type;
+
+    @Param({"200", "2000", "20000"})
+    private int textLength;
+
+    private NoteServiceImpl noteService;
+    private NoteServiceImpl cachingNoteService;
+    private Note note;
+
+    @Setup
+    public void setup() {
+        noteService = new NoteServiceImpl(null, null, new NoteExportCache(0, 0, "", 0), null, null);
+        cachingNoteService = new NoteServiceImpl(null, null, new NoteExportCache(100, 1 << 26, "", 0), null, null);
+        note = Note.builder()
+                .id(1L)
+                .title("Benchmark note")
+                .text("x".repeat(textLength))
+                .date(LocalDate.now())
+                .grade(8)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] renderContent() {
+        return render();
+    }
+
+    @Benchmark
+    public void renderTwice(Blackhole blackhole) {
+        blackhole.consume(render());
+        blackhole.consume(render().length);
+    }
+
+    @Benchmark
+    public void renderOnce(Blackhole blackhole) throws IOException {
+        NoteExport export = noteService.exportNote(note, type);
+
+        blackhole.consume(noteService.downloadNote(export));
+        export.writeTo(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void renderCached(Blackhole blackhole) throws IOException {
+        NoteExport export = cachingNoteService.exportNote(note, type);
+
+        blackhole.consume(cachingNoteService.downloadNote(export));
+        export.writeTo(OutputStream.nullOutputStream());
+    }
+
+    private byte[] render() {
+        return switch (type) {
+            case txt -> noteService.createTextFileContent(note).getBytes();
+            case pdf -> noteService.createPdfContent(note);
+            case docx -> noteService.createDocxContent(note);
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.sharesnotesapp.benchmark;
+
+import com.example.sharesnotesapp.model.Note;
+import com.example.sharesnotesapp.model.User;
+import com.example.sharesnotesapp.service.note.NoteSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the search index with the LIKE '%term%' path, simulated as a scan of the notes of one user,
+ * which is what the database does for a leading wildcard once the user_id index narrowed the rows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class NoteSearchBenchmark {
+    private static final int VOCABULARY_SIZE = 20_000;
+    private static final int USERS = 10;
+
+    @Param({"100000", "1000000"})
+    private int noteCount;
+
+    @Param({"single", "multi", "prefix"})
+    private String queryType;
+
+    private NoteSearchIndex searchIndex;
+    private List<Note> userNotes;
+    private String query;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        String[] vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            vocabulary[i] = word(random);
+        }
+
+        List<User> users = new ArrayList<>();
+        for (long id = 1; id <= USERS; id++) {
+            User user = new User();
+            user.setId(id);
+            users.add(user);
+        }
+
+        searchIndex = new NoteSearchIndex(null);
+        userNotes = new ArrayList<>();
+        for (long id = 1; id <= noteCount; id++) {
+            Note note = Note.builder()
+                    .id(id)
+                    .user(users.get((int) (id % USERS)))
+                    .title(words(random, vocabulary, 4))
+                    .text(words(random, vocabulary, 40))
+                    .build();
+
+            searchIndex.index(note);
+            if (note.getUser() == users.get(0)) {
+                userNotes.add(note);
+            }
+        }
+
+        query = switch (queryType) {
+            case "single" -> vocabulary[7];
+            case "multi" -> vocabulary[7] + " " + vocabulary[11];
+            default -> vocabulary[7].substring(0, 3);
+        };
+    }
+
+    @Benchmark
+    public void searchIndex(Blackhole blackhole) {
+        blackhole.consume(searchIndex.search(userNotes.get(0).getUser().getId(), query, 20));
+    }
+
+    @Benchmark
+    public void likeScan(Blackhole blackhole) {
+        String term = query.split(" ")[0].toLowerCase(Locale.ROOT);
+        List<Note> found = new ArrayList<>();
+
+        for (Note note : userNotes) {
+            if (note.getTitle().toLowerCase(Locale.ROOT).contains(term)) {
+                found.add(note);
+            }
+        }
+
+        blackhole.consume(found);
+    }
+
+    private static String words(Random random, String[] vocabulary, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(vocabulary[(int) Math.abs(random.nextGaussian() * VOCABULARY_SIZE / 4) % VOCABULARY_SIZE]).append(' ');
+        }
+
+        return builder.toString();
+    }
+
+    private static String word(Random random) {
+        char[] letters = new char[4 + random.nextInt(6)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+
+        return new String(letters);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.sharesnotesapp.benchmark;
+
+import com.example.sharesnotesapp.model.Note;
+import com.example.sharesnotesapp.model.User;
+import com.example.sharesnotesapp.repository.NoteRepository;
+import com.example.sharesnotesapp.repository.UserRepository;
+import com.example.sharesnotesapp.security.jwt.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the first page of a user's notes over HTTP from 512 client threads, once with requests on the Tomcat
+ * worker pool (200 threads) and once with app.virtualThreads. On runtimes without virtual threads both runs use
+ * the worker pool. In-memory H2 barely blocks, so the gap is smaller than against MySQL over the network.
+ * The fork gets as many virtual thread carriers as connections through the scheduler's JVM flag.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.virtualThreadScheduler.parallelism=" + RequestThreadingBenchmark.CONNECTIONS)
+@Threads(512)
+@State(Scope.Benchmark)
+public class RequestThreadingBenchmark {
+    static final int CONNECTIONS = 16;
+    private static final int NOTES = 100;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setup() {
+        context = H2Application.start("request-threading", "app.virtualThreads=" + virtualThreads,
+                "app.virtualThreadConnectionPoolSize=" + CONNECTIONS);
+        User user = context.getBean(UserRepository.class)
+                .save(new User(null, "User", "User", "user@example.com", "test123"));
+
+        List<Note> notes = new ArrayList<>();
+        for (int i = 0; i < NOTES; i++) {
+            notes.add(Note.builder().user(user).title("Note " + i).text("text").date(LocalDate.now()).grade(5).build());
+        }
+        context.getBean(NoteRepository.class).saveAll(notes);
+
+        String token = context.getBean(JwtUtils.class).generateTokenFromUsername(user.getEmail());
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:"
+                        + context.getEnvironment().getProperty("local.server.port") + "/notes/page?size=20"))
+                .header("Authorization", "Bearer " + token)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getNotesPage() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+
+        return response.body().length;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.sharesnotesapp.benchmark;
+
+import com.example.sharesnotesapp.model.dto.response.NoteResponseDto;
+import com.example.sharesnotesapp.model.dto.response.ShareResponseDto;
+import com.example.sharesnotesapp.model.dto.response.UserInfoDto;
+import com.example.sharesnotesapp.model.dto.response.UserResponseDto;
+import com.example.sharesnotesapp.model.dto.response.Views;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes note and share response lists the way the message converter does, with the object mapper
+ * configuration Spring Boot uses, in full and with the compact view.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    @Param({"200", "5000"})
+    private int textLength;
+
+    private ObjectWriter writer;
+    private ObjectWriter compactWriter;
+    private List<NoteResponseDto> notes;
+    private List<ShareResponseDto> shares;
+
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+        compactWriter = objectMapper.writerWithView(Views.Compact.class);
+
+        UserResponseDto owner = new UserResponseDto(1L, "User", "User", "user@example.com");
+        UserInfoDto sender = new UserInfoDto(1L, "User", "User", "user@example.com");
+        UserInfoDto receiver = new UserInfoDto(2L, "Friend", "Friend", "friend@example.com");
+        notes = new ArrayList<>();
+        shares = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            NoteResponseDto note = new NoteResponseDto(owner, (long) i, "Note " + i, "x".repeat(textLength), LocalDate.now(), 8);
+            notes.add(note);
+            shares.add(new ShareResponseDto((long) i, sender, receiver, note, LocalDate.now()));
+        }
+    }
+
+    @Benchmark
+    public byte[] notes() throws JsonProcessingException {
+        return writer.writeValueAsBytes(notes);
+    }
+
+    @Benchmark
+    public byte[] compactNotes() throws JsonProcessingException {
+        return compactWriter.writeValueAsBytes(notes);
+    }
+
+    @Benchmark
+    public byte[] shares() throws JsonProcessingException {
+        return writer.writeValueAsBytes(shares);
+    }
+
+    @Benchmark
+    public byte[] compactShares() throws JsonProcessingException {
+        return compactWriter.writeValueAsBytes(shares);
+    }
+}
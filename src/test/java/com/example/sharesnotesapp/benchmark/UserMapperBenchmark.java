@@ -0,0 +1,41 @@
+package com.example.sharesnotesapp.benchmark;
+
+import com.example.sharesnotesapp.model.User;
+import com.example.sharesnotesapp.model.dto.mapper.UserMapper;
+import com.example.sharesnotesapp.model.dto.mapper.UserMapperImpl;
+import com.example.sharesnotesapp.model.dto.response.UserResponseDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps a user with a growing friend list to the profile response, which sorts the friends by last name.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserMapperBenchmark {
+    @Param({"10", "1000", "10000"})
+    private int friendCount;
+
+    private final UserMapper mapper = new UserMapperImpl();
+    private User user;
+
+    @Setup
+    public void setup() {
+        user = new User(1L, "User", "User", "user@example.com", "test123");
+        for (int i = 0; i < friendCount; i++) {
+            // spread the last names so the sort has work to do
+            String lastName = "Friend" + (i * 7919L % friendCount);
+            user.getFriendList().add(new User(i + 2L, "Friend", lastName, "friend" + i + "@example.com", "test123"));
+        }
+    }
+
+    @Benchmark
+    public UserResponseDto toDto() {
+        return mapper.toDto(user);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.sharesnotesapp.cache_test;
+
+import com.example.sharesnotesapp.cache.BoundedCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    @Test
+    void testGet_LoadsOnceAndCountsHitsAndMisses() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        String first = cache.get("key", key -> {
+            loads.incrementAndGet();
+            return "value";
+        });
+        String second = cache.get("key", key -> {
+            loads.incrementAndGet();
+            return "other";
+        });
+
+        assertEquals("value", first);
+        assertEquals("value", second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void testGetHitRatio() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, null);
+
+        assertEquals(0, cache.getHitRatio());
+
+        cache.get("key", key -> "value");
+        cache.get("key");
+        cache.get("key");
+        cache.get("other");
+
+        assertEquals(0.5, cache.getHitRatio());
+    }
+
+    @Test
+    void testPut_EvictsLeastRecentlyUsed() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(2, null);
+
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.get(1);
+        cache.put(3, "three");
+
+        assertEquals("one", cache.get(1));
+        assertNull(cache.get(2));
+        assertEquals("three", cache.get(3));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void testGet_ExpiredEntry() throws InterruptedException {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMillis(5));
+
+        cache.put("key", "value");
+        Thread.sleep(20);
+
+        assertNull(cache.get("key"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testInvalidate() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, null);
+
+        cache.put("a", "value");
+        cache.put("b", "value");
+        cache.put("c", "other");
+
+        cache.invalidate("a");
+        assertNull(cache.get("a"));
+
+        cache.invalidateIf("value"::equals);
+        assertNull(cache.get("b"));
+        assertEquals("other", cache.get("c"));
+    }
+
+    @Test
+    void testInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCache<String, String>(0, null));
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.sharesnotesapp.cache_test;
+
+import com.example.sharesnotesapp.model.FileType;
+import com.example.sharesnotesapp.model.Note;
+import com.example.sharesnotesapp.service.note.NoteExport;
+import com.example.sharesnotesapp.service.note.NoteExportCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NoteExportCacheTest {
+    private Note note;
+    private AtomicInteger renders;
+
+    @BeforeEach
+    void setup() {
+        note = Note.builder()
+                .id(1L)
+                .title("A title")
+                .text("Some text")
+                .date(LocalDate.parse("2024-05-05"))
+                .grade(9)
+                .build();
+        renders = new AtomicInteger();
+    }
+
+    @Test
+    void testGetOrRender_SameContentRendersOnce() {
+        NoteExportCache cache = new NoteExportCache(10, 1 << 20, "", 0);
+
+        cache.getOrRender(note, FileType.pdf, this::render);
+        cache.getOrRender(note, FileType.pdf, this::render);
+        cache.getOrRender(note, FileType.docx, this::render);
+
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    void testGetOrRender_ChangedContentRendersAgain() {
+        NoteExportCache cache = new NoteExportCache(10, 1 << 20, "", 0);
+
+        cache.getOrRender(note, FileType.pdf, this::render);
+        note.setGrade(3);
+        cache.getOrRender(note, FileType.pdf, this::render);
+
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    void testEvict() {
+        NoteExportCache cache = new NoteExportCache(10, 1 << 20, "", 0);
+
+        cache.getOrRender(note, FileType.pdf, this::render);
+        cache.evict(note.getId());
+        cache.getOrRender(note, FileType.pdf, this::render);
+
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    void testGetOrRender_HeapLimitEvictsLeastRecentlyUsed() {
+        NoteExportCache cache = new NoteExportCache(10, 1024, "", 0);
+        Note otherNote = Note.builder().id(2L).title("Other").text("Text").date(note.getDate()).grade(1).build();
+
+        cache.getOrRender(note, FileType.pdf, () -> new NoteExport(note, FileType.pdf, new byte[600]));
+        cache.getOrRender(otherNote, FileType.pdf, () -> new NoteExport(otherNote, FileType.pdf, new byte[600]));
+        cache.getOrRender(note, FileType.pdf, this::render);
+
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    void testGetOrRender_DisabledCache() {
+        NoteExportCache cache = new NoteExportCache(10, 0, "", 0);
+
+        cache.getOrRender(note, FileType.pdf, this::render);
+        cache.getOrRender(note, FileType.pdf, this::render);
+
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    void testGetOrRender_SpillsLargeExportsToMappedFile(@TempDir Path directory) throws IOException {
+        NoteExportCache cache = new NoteExportCache(10, 1 << 20, directory.toString(), 4);
+
+        NoteExport export = cache.getOrRender(note, FileType.pdf, this::render);
+
+        assertFalse(export.isOnHeap());
+        assertArrayEquals(render().getContent(), export.getContent());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        export.writeTo(outputStream);
+        assertArrayEquals(render().getContent(), outputStream.toByteArray());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+
+        cache.evict(note.getId());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private NoteExport render() {
+        renders.incrementAndGet();
+        return new NoteExport(note, FileType.pdf, ("rendered " + note.getText()).getBytes());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.sharesnotesapp.cache_test;
+
+import com.example.sharesnotesapp.model.dto.response.UserInfoDto;
+import com.example.sharesnotesapp.model.dto.response.UserResponseDto;
+import com.example.sharesnotesapp.service.user.UserResponseCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserResponseCacheTest {
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private UserResponseDto load(Long id) {
+        loads.incrementAndGet();
+        UserResponseDto user = new UserResponseDto(id, "First-name", "Last-name", "user" + id + "@test.com");
+        if (id == 1L) {
+            user.setFriends(List.of(new UserInfoDto(2L, "Friend", "Friend", "user2@test.com")));
+        }
+
+        return user;
+    }
+
+    @Test
+    void testGet_LoadsOnce() {
+        UserResponseCache cache = new UserResponseCache(10, 60000);
+
+        UserResponseDto first = cache.get(1L, this::load);
+        UserResponseDto second = cache.get(1L, this::load);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testInvalidateUsers_DropsProfilesListingTheUser() {
+        UserResponseCache cache = new UserResponseCache(10, 60000);
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        cache.get(3L, this::load);
+
+        cache.invalidateUsers(Set.of(2L));
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        cache.get(3L, this::load);
+
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void testInvalidateUsers_ReloadedAfterEviction() {
+        UserResponseCache cache = new UserResponseCache(1, 60000);
+        cache.get(1L, this::load);
+        cache.get(3L, this::load);
+        cache.get(1L, this::load);
+
+        cache.invalidateUsers(Set.of(2L));
+        cache.get(1L, this::load);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testInvalidateUsers_OnlyListedProfilesReloaded() {
+        UserResponseCache cache = new UserResponseCache(10, 60000);
+        cache.get(1L, this::load);
+        cache.get(3L, this::load);
+
+        cache.invalidateUsers(Set.of(1L));
+        cache.get(1L, this::load);
+        cache.invalidateUsers(Set.of(2L));
+        cache.get(1L, this::load);
+        cache.get(3L, this::load);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testDisabled() {
+        UserResponseCache cache = new UserResponseCache(0, 60000);
+
+        cache.get(1L, this::load);
+        cache.get(1L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+}
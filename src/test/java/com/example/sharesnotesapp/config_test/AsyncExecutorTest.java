@@ -0,0 +1,35 @@
+package com.example.sharesnotesapp.config_test;
+
+import com.example.sharesnotesapp.config.AsyncConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncExecutorTest {
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class, WebMvcAutoConfiguration.class))
+            .withUserConfiguration(AsyncConfiguration.class)
+            .withPropertyValues("spring.task.execution.pool.core-size=2", "spring.task.execution.pool.max-size=4",
+                     "spring.task.execution.pool.queue-capacity=10");
+
+    @Test
+    void testMvcAsyncSupport_UsesBoundedApplicationExecutor() {
+        contextRunner.run(context -> {
+            ThreadPoolTaskExecutor executor = context.getBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+                    ThreadPoolTaskExecutor.class);
+            RequestMappingHandlerAdapter adapter = context.getBean(RequestMappingHandlerAdapter.class);
+
+            assertSame(executor, ReflectionTestUtils.getField(adapter, "taskExecutor"));
+            assertEquals(4, executor.getMaxPoolSize());
+            assertEquals(10, executor.getQueueCapacity());
+            assertNotSame(executor, context.getBean(AsyncConfiguration.EVENT_EXECUTOR));
+        });
+    }
+}
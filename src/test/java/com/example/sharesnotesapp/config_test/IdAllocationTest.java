@@ -0,0 +1,101 @@
+package com.example.sharesnotesapp.config_test;
+
+import com.example.sharesnotesapp.config.IdAllocationConfiguration;
+import com.example.sharesnotesapp.config.IdSequenceMigration;
+import com.example.sharesnotesapp.model.id.PooledSequenceGenerator;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.MySQL8Dialect;
+import org.hibernate.id.enhanced.NoopOptimizer;
+import org.hibernate.id.enhanced.PooledLoOptimizer;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.TableStructure;
+import org.hibernate.type.LongType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class IdAllocationTest {
+    private StandardServiceRegistry serviceRegistry;
+
+    @BeforeEach
+    void setup() {
+        serviceRegistry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DIALECT, MySQL8Dialect.class.getName())
+                .applySetting("hibernate.temp.use_jdbc_metadata_defaults", false)
+                .applySetting(PooledSequenceGenerator.ALLOCATION_SIZE_PREFIX + "note", 50)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        StandardServiceRegistryBuilder.destroy(serviceRegistry);
+    }
+
+    private PooledSequenceGenerator generator(String sequenceName, String key) {
+        Properties params = new Properties();
+        params.setProperty(SequenceStyleGenerator.SEQUENCE_PARAM, sequenceName);
+        params.setProperty(PooledSequenceGenerator.ALLOCATION_SIZE_KEY_PARAM, key);
+
+        PooledSequenceGenerator generator = new PooledSequenceGenerator();
+        generator.configure(LongType.INSTANCE, params, serviceRegistry);
+
+        return generator;
+    }
+
+    @Test
+    void testCustomizer_PassesAllocationSizesToHibernate() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.idAllocationSize.note", "50")
+                .withProperty("app.idAllocationSize.user", "10");
+        Map<String, Object> hibernateProperties = new HashMap<>();
+
+        new IdAllocationConfiguration().idAllocationSizeCustomizer(environment).customize(hibernateProperties);
+
+        assertEquals(50, hibernateProperties.get(PooledSequenceGenerator.ALLOCATION_SIZE_PREFIX + "note"));
+        assertEquals(10, hibernateProperties.get(PooledSequenceGenerator.ALLOCATION_SIZE_PREFIX + "user"));
+    }
+
+    @Test
+    void testConfigure_PooledWhenAllocationSizeIsSet() {
+        PooledSequenceGenerator generator = generator("note_sequence", "note");
+
+        assertInstanceOf(PooledLoOptimizer.class, generator.getOptimizer());
+        assertEquals(50, generator.getOptimizer().getIncrementSize());
+        assertInstanceOf(TableStructure.class, generator.getDatabaseStructure());
+    }
+
+    @Test
+    void testConfigure_OneByOneByDefault() {
+        PooledSequenceGenerator generator = generator("user_sequence", "user");
+
+        assertInstanceOf(NoopOptimizer.class, generator.getOptimizer());
+        assertEquals(1, generator.getOptimizer().getIncrementSize());
+    }
+
+    @Test
+    void testMigration_RaisesSequencesToMaxId() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COALESCE(MAX(id), 0) FROM"), eq(Long.class))).thenReturn(41L);
+        when(jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM shares", Long.class))
+                .thenThrow(new DataAccessResourceFailureException("no table"));
+
+        new IdSequenceMigration(jdbcTemplate).afterSingletonsInstantiated();
+
+        verify(jdbcTemplate).update("UPDATE note_sequence SET next_val = ? WHERE next_val < ?", 42L, 42L);
+        verify(jdbcTemplate).update("UPDATE req_sequence SET next_val = ? WHERE next_val < ?", 42L, 42L);
+        verify(jdbcTemplate, never()).update(startsWith("UPDATE share_sequence"), any(Object[].class));
+    }
+}
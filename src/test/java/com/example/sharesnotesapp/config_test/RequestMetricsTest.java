@@ -0,0 +1,137 @@
+package com.example.sharesnotesapp.config_test;
+
+import com.example.sharesnotesapp.controller.NoteController;
+import com.example.sharesnotesapp.metrics.EntityLoadCountingInterceptor;
+import com.example.sharesnotesapp.metrics.RequestMetricsInterceptor;
+import com.example.sharesnotesapp.metrics.RequestStatistics;
+import com.example.sharesnotesapp.metrics.StatementCountingInspector;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.DispatcherType;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestMetricsTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RequestMetricsInterceptor interceptor = new RequestMetricsInterceptor(registry, 5, 2);
+    private final StatementCountingInspector inspector = new StatementCountingInspector();
+    private final EntityLoadCountingInterceptor entityLoadInterceptor = new EntityLoadCountingInterceptor();
+
+    @AfterEach
+    void cleanup() {
+        RequestStatistics.end();
+    }
+
+    private HandlerMethod getNotesPageHandler() throws NoSuchMethodException {
+        return new HandlerMethod(new NoteController(null, null, null, null, null),
+                NoteController.class.getMethod("getNotesPage", String.class, Integer.class));
+    }
+
+    @Test
+    void testAfterCompletion_RecordsCountsPerEndpoint() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/notes/page");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/notes/page");
+        HandlerMethod handler = getNotesPageHandler();
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler);
+        inspector.inspect("select 1");
+        inspector.inspect("select 2");
+        entityLoadInterceptor.onLoad(new Object(), 1L, null, null, null);
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), handler, null);
+
+        DistributionSummary statements = registry.get(RequestMetricsInterceptor.STATEMENTS_METRIC)
+                .tags("uri", "/notes/page", "method", "GET", "handler", "NoteController#getNotesPage")
+                .summary();
+        DistributionSummary entityLoads = registry.get(RequestMetricsInterceptor.ENTITY_LOADS_METRIC).summary();
+        assertEquals(1, statements.count());
+        assertEquals(2, statements.totalAmount());
+        assertEquals(1, entityLoads.totalAmount());
+        assertNull(RequestStatistics.current());
+    }
+
+    @Test
+    void testAfterCompletion_FlagsRepeatedStatements() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/notes/page");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/notes/page");
+        HandlerMethod handler = getNotesPageHandler();
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler);
+        for (int id = 1; id <= 3; id++) {
+            inspector.inspect("select u.id from users u where u.id = " + id);
+        }
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), handler, null);
+
+        assertEquals(1, registry.get(RequestMetricsInterceptor.FLAGGED_METRIC)
+                .tags("reason", "repeated-statements", "handler", "NoteController#getNotesPage").counter().count());
+        assertNull(registry.find(RequestMetricsInterceptor.FLAGGED_METRIC).tag("reason", "statements").counter());
+    }
+
+    @Test
+    void testAfterCompletion_FlagsTooManyStatements() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/notes/page");
+        HandlerMethod handler = getNotesPageHandler();
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler);
+        for (int i = 0; i < 6; i++) {
+            inspector.inspect("select " + (char) ('a' + i) + " from notes");
+        }
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), handler, null);
+
+        assertEquals(1, registry.get(RequestMetricsInterceptor.FLAGGED_METRIC).tag("reason", "statements").counter().count());
+        assertNull(registry.find(RequestMetricsInterceptor.FLAGGED_METRIC).tag("reason", "repeated-statements").counter());
+    }
+
+    @Test
+    void testCapture_SameShapeDespiteLiteralsAndListLength() {
+        RequestStatistics statistics = RequestStatistics.capture(() -> {
+            inspector.inspect("select * from notes where id in (?, ?) and title = 'a'");
+            inspector.inspect("select *  from notes\n where id in (?, ?, ?) and title = 'it''s'");
+            inspector.inspect("select * from users where id = 7");
+        });
+
+        assertEquals(3, statistics.getStatements());
+        assertEquals(2, statistics.getMaxRepeats());
+        assertEquals("select * from notes where id in (?) and title = ?", statistics.getMostRepeatedStatement());
+        assertNull(RequestStatistics.current());
+    }
+
+    @Test
+    void testInspect_OutsideRequestNotCounted() throws Exception {
+        inspector.inspect("select 1");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/notes/page");
+        interceptor.preHandle(request, new MockHttpServletResponse(), getNotesPageHandler());
+
+        assertEquals(0, RequestStatistics.current().getStatements());
+    }
+
+    @Test
+    void testAsyncDispatch_RecordedOnce() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/notes/1/download/stream");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/notes/{id}/download/stream");
+        HandlerMethod handler = getNotesPageHandler();
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler);
+        inspector.inspect("select 1");
+        interceptor.afterConcurrentHandlingStarted(request, new MockHttpServletResponse(), handler);
+        assertNull(RequestStatistics.current());
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler);
+        assertNull(RequestStatistics.current());
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), handler, null);
+
+        DistributionSummary statements = registry.get(RequestMetricsInterceptor.STATEMENTS_METRIC)
+                .tag("uri", "/notes/{id}/download/stream")
+                .summary();
+        assertEquals(1, statements.count());
+        assertEquals(1, statements.totalAmount());
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.sharesnotesapp.config_test;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.sharesnotesapp.metrics.AsyncSqlLogger;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlLogTest {
+    private final Logger sqlLogger = (Logger) LoggerFactory.getLogger(AsyncSqlLogger.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private AsyncSqlLogger asyncSqlLogger;
+
+    @BeforeEach
+    void setup() {
+        appender.start();
+        sqlLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void cleanup() throws InterruptedException {
+        if (asyncSqlLogger != null) {
+            asyncSqlLogger.stop();
+        }
+        sqlLogger.detachAppender(appender);
+    }
+
+    private static ExecutionInfo execution(long elapsedMs) {
+        ExecutionInfo execution = new ExecutionInfo();
+        execution.setElapsedTime(elapsedMs);
+        execution.setSuccess(true);
+
+        return execution;
+    }
+
+    private static List<QueryInfo> query(Object bindValue) throws NoSuchMethodException {
+        QueryInfo query = new QueryInfo("select * from notes where id = ?");
+        query.getParametersList().add(List.of(new ParameterSetOperation(
+                PreparedStatement.class.getMethod("setObject", int.class, Object.class), new Object[]{1, bindValue})));
+
+        return List.of(query);
+    }
+
+    private void awaitEvents(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (appender.list.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void testAfterQuery_SlowOnlyWithBindValues() throws Exception {
+        asyncSqlLogger = new AsyncSqlLogger(0, 100, 10);
+        asyncSqlLogger.start();
+
+        asyncSqlLogger.afterQuery(execution(5), query(1L));
+        asyncSqlLogger.afterQuery(execution(150), query(2L));
+        awaitEvents(1);
+        Thread.sleep(50);
+
+        assertEquals(1, appender.list.size());
+        String message = appender.list.get(0).getFormattedMessage();
+        assertTrue(message.contains("150 ms: select * from notes where id = ? [[2]]"), message);
+        assertEquals("sql-log", appender.list.get(0).getThreadName());
+    }
+
+    @Test
+    void testAfterQuery_SampledWithoutBindValues() throws Exception {
+        asyncSqlLogger = new AsyncSqlLogger(1, 0, 10);
+        asyncSqlLogger.start();
+
+        asyncSqlLogger.afterQuery(execution(5), query(1L));
+        awaitEvents(1);
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().endsWith("5 ms: select * from notes where id = ?"));
+    }
+
+    @Test
+    void testAfterQuery_DropsWhenFull() throws Exception {
+        AsyncSqlLogger stalledLogger = new AsyncSqlLogger(1, 0, 2);
+
+        for (int i = 0; i < 5; i++) {
+            stalledLogger.afterQuery(execution(5), query((long) i));
+        }
+
+        assertEquals(3, stalledLogger.getDropped());
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    void testIsEnabled() {
+        assertFalse(new AsyncSqlLogger(0, 0, 10).isEnabled());
+        assertTrue(new AsyncSqlLogger(0.01, 0, 10).isEnabled());
+        assertTrue(new AsyncSqlLogger(0, 500, 10).isEnabled());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.sharesnotesapp.config_test;
+
+import com.example.sharesnotesapp.config.VirtualThreadConfiguration;
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.coyote.ProtocolHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class VirtualThreadTest {
+
+    @Test
+    void testRequestCustomizer_VirtualThreadsOnlyWhereAvailable() {
+        VirtualThreadConfiguration configuration = new VirtualThreadConfiguration(10);
+        ProtocolHandler protocolHandler = mock(ProtocolHandler.class);
+        String parallelism = System.getProperty("jdk.virtualThreadScheduler.parallelism");
+
+        configuration.virtualThreadRequestCustomizer().customize(protocolHandler);
+
+        if (Runtime.version().feature() >= 21) {
+            verify(protocolHandler).setExecutor(any(ExecutorService.class));
+        } else {
+            verify(protocolHandler, never()).setExecutor(any());
+        }
+        assertEquals(parallelism, System.getProperty("jdk.virtualThreadScheduler.parallelism"));
+        configuration.destroy();
+    }
+
+    @Test
+    void testConnectionPoolSizer_ConfiguredSize() {
+        BeanPostProcessor sizer = VirtualThreadConfiguration.virtualThreadConnectionPoolSizer(12);
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMinimumIdle(20);
+        int configuredSize = dataSource.getMaximumPoolSize();
+
+        sizer.postProcessBeforeInitialization(dataSource, "dataSource");
+
+        if (VirtualThreadConfiguration.virtualThreadsAvailable()) {
+            assertEquals(12, dataSource.getMaximumPoolSize());
+            assertEquals(12, dataSource.getMinimumIdle());
+        } else {
+            assertEquals(configuredSize, dataSource.getMaximumPoolSize());
+            assertEquals(20, dataSource.getMinimumIdle());
+        }
+    }
+
+    @Test
+    void testConnectionPoolSizer_DefaultsToProcessors() {
+        BeanPostProcessor sizer = VirtualThreadConfiguration.virtualThreadConnectionPoolSizer(0);
+        HikariDataSource dataSource = new HikariDataSource();
+        int configuredSize = dataSource.getMaximumPoolSize();
+
+        sizer.postProcessBeforeInitialization(dataSource, "dataSource");
+
+        assertEquals(VirtualThreadConfiguration.virtualThreadsAvailable()
+                ? Runtime.getRuntime().availableProcessors() * 2 + 1 : configuredSize, dataSource.getMaximumPoolSize());
+    }
+}
@@ -5,9 +5,17 @@ import com.example.sharesnotesapp.model.FileType;
 import com.example.sharesnotesapp.model.Note;
 import com.example.sharesnotesapp.model.User;
 import com.example.sharesnotesapp.model.dto.mapper.NoteMapper;
+import com.example.sharesnotesapp.model.dto.mapper.NoteMapperImpl;
 import com.example.sharesnotesapp.model.dto.request.NoteRequestDto;
+import com.example.sharesnotesapp.model.dto.response.ImportErrorDto;
+import com.example.sharesnotesapp.model.dto.response.NoteImportResponseDto;
 import com.example.sharesnotesapp.model.dto.response.NoteResponseDto;
 import com.example.sharesnotesapp.model.dto.response.UserResponseDto;
+import com.example.sharesnotesapp.repository.projection.NoteRow;
+import com.example.sharesnotesapp.service.note.NoteExport;
+import com.example.sharesnotesapp.service.note.NoteImportService;
+import com.example.sharesnotesapp.service.note.NoteReadService;
+import com.example.sharesnotesapp.service.note.NoteRowPage;
 import com.example.sharesnotesapp.service.note.NoteServiceImpl;
 import com.itextpdf.text.Document;
 import com.itextpdf.text.Paragraph;
@@ -29,18 +37,27 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import javax.persistence.EntityNotFoundException;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 
 @WebMvcTest(NoteController.class)
@@ -52,6 +69,12 @@ class NoteControllerTest {
     @MockBean
     private NoteServiceImpl noteService;
 
+    @MockBean
+    private NoteReadService noteReadService;
+
+    @MockBean
+    private NoteImportService noteImportService;
+
     @MockBean
     private NoteMapper mapper;
 
@@ -81,6 +104,11 @@ class NoteControllerTest {
         authentication = new UsernamePasswordAuthenticationToken(user, user.getPassword(), Collections.emptyList());
     }
 
+    private NoteRow row(Note note) {
+        return new NoteRow(note.getId(), note.getTitle(), note.getText(), note.getDate(), note.getGrade(),
+                note.getUser().getId(), note.getUser().getFirstName(), note.getUser().getLastName(), note.getUser().getEmail());
+    }
+
     @Test
     void testSaveNote() throws Exception {
         NoteRequestDto noteRequestDto = new NoteRequestDto();
@@ -142,8 +170,8 @@ class NoteControllerTest {
         UserResponseDto userResponseDto = new UserResponseDto(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail());
         NoteResponseDto noteResponseDto = new NoteResponseDto(userResponseDto, note.getId(), note.getTitle(), note.getText(), note.getDate(), note.getGrade());
 
-        when(noteService.getNoteById(id)).thenReturn(Optional.of(note));
-        when(mapper.toDto(note)).thenReturn(noteResponseDto);
+        when(noteReadService.getNoteById(id)).thenReturn(row(note));
+        when(mapper.toDto(row(note))).thenReturn(noteResponseDto);
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
@@ -158,11 +186,29 @@ class NoteControllerTest {
                 .andExpect(jsonPath("$.grade", is(9)));
     }
 
+    @Test
+    void testGetNoteById_OwnerWithoutFriendList() throws Exception {
+        NoteMapper noteMapper = new NoteMapperImpl();
+        when(noteReadService.getNoteById(note.getId())).thenReturn(row(note));
+        when(mapper.toDto(any(NoteRow.class))).thenAnswer(invocation -> noteMapper.toDto(invocation.<NoteRow>getArgument(0)));
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        mockMvc.perform(get("/notes/{id}", note.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.id", is(1)))
+                .andExpect(jsonPath("$.user.friends", hasSize(0)));
+
+        mockMvc.perform(get("/notes/{id}", note.getId()).param("view", "compact"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.friends").doesNotExist());
+    }
+
     @Test
     void testGetNoteById_InvalidId() throws Exception {
         Long nonExistentId = 999L;
 
-        when(noteService.getNoteById(nonExistentId))
+        when(noteReadService.getNoteById(nonExistentId))
                 .thenThrow(new EntityNotFoundException(String.format("Note with id %s does not exist", nonExistentId)));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -288,9 +334,9 @@ class NoteControllerTest {
 
         List<Note> notes = List.of(secondNote, note);
 
-        when(noteService.getNotesByUser(any(User.class))).thenReturn(notes);
-        when(mapper.toDto(secondNote)).thenReturn(secondNoteResponseDto);
-        when(mapper.toDto(note)).thenReturn(noteResponseDto);
+        when(noteReadService.getNotesByUser(any(User.class))).thenReturn(notes.stream().map(this::row).toList());
+        when(mapper.toDto(row(secondNote))).thenReturn(secondNoteResponseDto);
+        when(mapper.toDto(row(note))).thenReturn(noteResponseDto);
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
@@ -334,8 +380,8 @@ class NoteControllerTest {
 
         List<Note> notes = List.of(secondNote);
 
-        when(noteService.getFilteredNotesByTitle(any(User.class), any(String.class))).thenReturn(notes);
-        when(mapper.toDto(secondNote)).thenReturn(secondNoteResponseDto);
+        when(noteReadService.getFilteredNotesByTitle(any(User.class), any(String.class))).thenReturn(notes.stream().map(this::row).toList());
+        when(mapper.toDto(row(secondNote))).thenReturn(secondNoteResponseDto);
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
@@ -348,12 +394,88 @@ class NoteControllerTest {
                 .andExpect(jsonPath("$[0].grade", is(7)));
     }
 
+    @Test
+    void testImportNotes() throws Exception {
+        NoteImportResponseDto result = new NoteImportResponseDto(1, 1, 0, List.of(new ImportErrorDto(1, "Title should not be empty")));
+        when(noteImportService.importNotes(eq(user.getId()), any())).thenReturn(result);
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        mockMvc.perform(post("/notes/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"title\":\"a\"}\n{\"title\":\"\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.errors[0].index", is(1)))
+                .andExpect(jsonPath("$.errors[0].message", is("Title should not be empty")));
+    }
+
     @Test
     void testGetNotesFilteredByTitle_UserNotLoggedIn() throws Exception {
         mockMvc.perform(get("/notes/filter"))
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void testSearchNotes() throws Exception {
+        UserResponseDto userResponseDto = new UserResponseDto(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail());
+        NoteResponseDto noteResponseDto = new NoteResponseDto(userResponseDto, note.getId(), note.getTitle(), null, null, null);
+
+        when(noteReadService.searchNotes(any(User.class), eq("title"), isNull())).thenReturn(List.of(row(note)));
+        when(mapper.toDto(row(note))).thenReturn(noteResponseDto);
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        mockMvc.perform(get("/notes/search")
+                        .param("query", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title", is("A title")));
+    }
+
+    @Test
+    void testGetNotesPage() throws Exception {
+        UserResponseDto userResponseDto = new UserResponseDto(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail());
+        NoteResponseDto noteResponseDto = new NoteResponseDto(userResponseDto, note.getId(), note.getTitle(), null, null, null);
+
+        when(noteReadService.getNotesPage(any(User.class), eq("cursor"), eq(1))).thenReturn(new NoteRowPage(List.of(row(note)), "next"));
+        when(mapper.toDto(row(note))).thenReturn(noteResponseDto);
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        mockMvc.perform(get("/notes/page")
+                        .param("cursor", "cursor")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.notes[0].title", is("A title")))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+    }
+
+    @Test
+    void testGetNotesPage_InvalidCursor() throws Exception {
+        when(noteReadService.getNotesPage(any(User.class), eq("bad"), isNull()))
+                .thenThrow(new IllegalArgumentException("Invalid page cursor"));
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        mockMvc.perform(get("/notes/page")
+                        .param("cursor", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetNotesFilteredByTitlePage() throws Exception {
+        when(noteReadService.getFilteredNotesPage(any(User.class), eq("day"), isNull(), isNull()))
+                .thenReturn(new NoteRowPage(List.of(), null));
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        mockMvc.perform(get("/notes/filter/page")
+                        .param("string", "day"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.notes").isEmpty())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
     @Test
     void testDownloadNote_txt() throws Exception {
         Long id = 1L;
@@ -375,8 +497,8 @@ class NoteControllerTest {
                 .build());
 
         when(noteService.getNoteById(id)).thenReturn(Optional.of(note));
-        when(noteService.createTextFileContent(any(Note.class))).thenReturn(fileContentStr);
-        when(noteService.downloadNote(any(Note.class), any(FileType.class))).thenReturn(headers);
+        when(noteService.exportNote(any(Note.class), eq(FileType.txt))).thenReturn(new NoteExport(note, FileType.txt, fileContent));
+        when(noteService.downloadNote(any(NoteExport.class))).thenReturn(headers);
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
@@ -386,6 +508,30 @@ class NoteControllerTest {
                 .andExpect(content().bytes(fileContent));
     }
 
+    @Test
+    void testDownloadNote_MappedExportServedInPlace() throws Exception {
+        Long id = 1L;
+        byte[] fileContent = "%PDF mapped export".getBytes();
+        ByteBuffer mapped = ByteBuffer.allocateDirect(fileContent.length).put(fileContent).flip();
+        NoteExport export = new NoteExport(note, FileType.pdf, fileContent).withContent(mapped);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentLength(export.getContentLength());
+
+        when(noteService.getNoteById(id)).thenReturn(Optional.of(note));
+        when(noteService.exportNote(any(Note.class), eq(FileType.pdf))).thenReturn(export);
+        when(noteService.downloadNote(any(NoteExport.class))).thenReturn(headers);
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        mockMvc.perform(get("/notes/{id}/download", id)
+                        .param("type", FileType.pdf.toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, fileContent.length))
+                .andExpect(content().bytes(fileContent));
+        assertFalse(export.isOnHeap());
+    }
+
     @Test
     void testDownloadNote_pdf() throws Exception {
         Long id = 1L;
@@ -415,8 +561,8 @@ class NoteControllerTest {
                 .build());
 
         when(noteService.getNoteById(id)).thenReturn(Optional.of(note));
-        when(noteService.createPdfContent(any(Note.class))).thenReturn(fileContent);
-        when(noteService.downloadNote(any(Note.class), any(FileType.class))).thenReturn(headers);
+        when(noteService.exportNote(any(Note.class), eq(FileType.pdf))).thenReturn(new NoteExport(note, FileType.pdf, fileContent));
+        when(noteService.downloadNote(any(NoteExport.class))).thenReturn(headers);
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
@@ -470,14 +616,15 @@ class NoteControllerTest {
                     .build());
 
             when(noteService.getNoteById(id)).thenReturn(Optional.of(note));
-            when(noteService.createPdfContent(any(Note.class))).thenReturn(fileContent);
-            when(noteService.downloadNote(any(Note.class), any(FileType.class))).thenReturn(headers);
+            when(noteService.exportNote(any(Note.class), eq(FileType.docx))).thenReturn(new NoteExport(note, FileType.docx, fileContent));
+            when(noteService.downloadNote(any(NoteExport.class))).thenReturn(headers);
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
             mockMvc.perform(get("/notes/{id}/download", id)
                             .param("type", FileType.docx.toString()))
-                    .andExpect(status().isOk());
+                    .andExpect(status().isOk())
+                    .andExpect(content().bytes(fileContent));
 
         } catch (IOException e) {
             throw new RuntimeException("Error while creating DOCX content", e);
@@ -519,6 +666,50 @@ class NoteControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void testStreamNote_txt() throws Exception {
+        Long id = 1L;
+
+        byte[] fileContent = "Title: A title".getBytes();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.TEXT_PLAIN);
+        headers.setContentDisposition(ContentDisposition
+                .attachment()
+                .filename("note_" + note.getTitle() + "_" + note.getDate() + ".txt")
+                .build());
+
+        when(noteService.getNoteById(id)).thenReturn(Optional.of(note));
+        when(noteService.streamNoteHeaders(any(Note.class), eq(FileType.txt))).thenReturn(headers);
+        doAnswer(invocation -> {
+            invocation.getArgument(2, OutputStream.class).write(fileContent);
+            return null;
+        }).when(noteService).writeNoteContent(any(Note.class), eq(FileType.txt), any(OutputStream.class));
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        MvcResult result = mockMvc.perform(get("/notes/{id}/download/stream", id)
+                        .param("type", FileType.txt.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("note_A title")))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_LENGTH))
+                .andExpect(content().bytes(fileContent));
+    }
+
+    @Test
+    void testStreamNote_InvalidFileType() throws Exception {
+        when(noteService.getNoteById(1L)).thenReturn(Optional.of(note));
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        mockMvc.perform(get("/notes/{id}/download/stream", 1L)
+                        .param("type", "another-type"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testGetLatestNotes() throws Exception {
         Note note2 = Note
@@ -541,7 +732,7 @@ class NoteControllerTest {
                 .user(user)
                 .build();
 
-        when(noteService.getLatestNotes(user)).thenReturn(List.of(note2, note3));
+        when(noteReadService.getLatestNotes(user)).thenReturn(List.of(row(note2), row(note3)));
 
         UserResponseDto userResponseDto = new UserResponseDto(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail());
         NoteResponseDto noteResponseDto2
@@ -549,8 +740,8 @@ class NoteControllerTest {
         NoteResponseDto noteResponseDto3
                 = new NoteResponseDto(userResponseDto, note3.getId(), note3.getTitle(), note3.getText(), note3.getDate(), note3.getGrade());
 
-        when(mapper.toDto(note2)).thenReturn(noteResponseDto2);
-        when(mapper.toDto(note3)).thenReturn(noteResponseDto3);
+        when(mapper.toDto(row(note2))).thenReturn(noteResponseDto2);
+        when(mapper.toDto(row(note3))).thenReturn(noteResponseDto3);
 
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -573,6 +764,59 @@ class NoteControllerTest {
                 .andExpect(jsonPath("$[1].grade", is(7)));
     }
 
+    @Test
+    void testGetLatestNotes_CompactView() throws Exception {
+        note.setText("Some text");
+        note.setDate(LocalDate.parse("2024-05-05"));
+        note.setGrade(9);
+
+        UserResponseDto userResponseDto = new UserResponseDto(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail());
+        NoteResponseDto noteResponseDto
+                = new NoteResponseDto(userResponseDto, note.getId(), note.getTitle(), note.getText(), note.getDate(), note.getGrade());
+
+        when(noteReadService.getLatestNotes(user)).thenReturn(List.of(row(note)));
+        when(mapper.toDto(row(note))).thenReturn(noteResponseDto);
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        mockMvc.perform(get("/notes/latest")
+                        .param("view", "compact"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].user.id", is(1)))
+                .andExpect(jsonPath("$[0].user.firstName").doesNotExist())
+                .andExpect(jsonPath("$[0].user.email").doesNotExist())
+                .andExpect(jsonPath("$[0].user.friends").doesNotExist())
+                .andExpect(jsonPath("$[0].title", is("A title")))
+                .andExpect(jsonPath("$[0].text", is("Some text")))
+                .andExpect(jsonPath("$[0].date", is("05-05-2024")))
+                .andExpect(jsonPath("$[0].grade", is(9)));
+    }
+
+    @Test
+    void testGetLatestNotes_UnknownView() throws Exception {
+        when(noteReadService.getLatestNotes(user)).thenReturn(List.of());
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        mockMvc.perform(get("/notes/latest")
+                        .param("view", "tiny"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSaveNote_UnknownViewIsRejectedBeforeSaving() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        mockMvc.perform(post("/notes")
+                        .param("view", "bogus")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"A title\", \"text\": \"Some text\", \"date\": \"05-05-2024\", \"grade\": 9}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("Unknown view bogus")));
+
+        verify(noteService, never()).saveNote(any(Long.class), any(NoteRequestDto.class));
+    }
+
     @Test
     void testGetLatestNotes_NotLoggedIn() throws Exception{
         mockMvc.perform(get("/notes/latest"))
@@ -610,10 +854,11 @@ class NoteControllerTest {
         NoteResponseDto noteResponseDto3
                 = new NoteResponseDto(userResponseDto, note3.getId(), note3.getTitle(), note3.getText(), note3.getDate(), note3.getGrade());
 
-        when(mapper.toDto(note2)).thenReturn(noteResponseDto2);
-        when(mapper.toDto(note3)).thenReturn(noteResponseDto3);
+        when(mapper.toDto(row(note2))).thenReturn(noteResponseDto2);
+        when(mapper.toDto(row(note3))).thenReturn(noteResponseDto3);
 
-        when(noteService.getNotesBetweenDates(LocalDate.parse("2024-01-09"),LocalDate.parse("2024-05-01"))).thenReturn(List.of(note2, note3));
+        when(noteReadService.getNotesBetweenDates(any(User.class), eq(LocalDate.parse("2024-01-09")), eq(LocalDate.parse("2024-05-01"))))
+                .thenReturn(List.of(row(note2), row(note3)));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
@@ -637,6 +882,64 @@ class NoteControllerTest {
                 .andExpect(jsonPath("$[1].grade", is(7)));
     }
 
+    @Test
+    void testGetNotesBetweenDatesPage() throws Exception {
+        UserResponseDto userResponseDto = new UserResponseDto(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail());
+        NoteResponseDto noteResponseDto = new NoteResponseDto(userResponseDto, note.getId(), note.getTitle(), null, null, null);
+
+        when(noteReadService.getNotesBetweenDatesPage(any(User.class), eq(LocalDate.parse("2024-01-09")),
+                eq(LocalDate.parse("2024-05-01")), eq("cursor"), eq(1)))
+                .thenReturn(new NoteRowPage(List.of(row(note)), "next"));
+        when(mapper.toDto(row(note))).thenReturn(noteResponseDto);
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        mockMvc.perform(get("/notes/dates/page")
+                        .param("startDate", "09-01-2024")
+                        .param("endDate", "01-05-2024")
+                        .param("cursor", "cursor")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.notes[0].title", is("A title")))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+    }
+
+    @Test
+    void testStreamNotesBetweenDates() throws Exception {
+        UserResponseDto userResponseDto = new UserResponseDto(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail());
+        NoteRow first = new NoteRow(1L, "First", "Text", LocalDate.parse("2024-02-01"), 5, 1L, "First-name", "Last-name", "email@test.com");
+        NoteRow second = new NoteRow(2L, "Second", "Text", LocalDate.parse("2024-03-01"), 6, 1L, "First-name", "Last-name", "email@test.com");
+        NoteResponseDto firstDto = new NoteResponseDto(userResponseDto, 1L, "First", "Text", LocalDate.parse("2024-02-01"), 5);
+        NoteResponseDto secondDto = new NoteResponseDto(userResponseDto, 2L, "Second", "Text", LocalDate.parse("2024-03-01"), 6);
+
+        when(mapper.toDto(first)).thenReturn(firstDto);
+        when(mapper.toDto(second)).thenReturn(secondDto);
+        doAnswer(invocation -> {
+            Consumer<NoteRow> consumer = invocation.getArgument(3);
+            consumer.accept(first);
+            consumer.accept(second);
+            return null;
+        }).when(noteReadService).streamNotesBetweenDates(any(User.class), eq(LocalDate.parse("2024-01-09")),
+                eq(LocalDate.parse("2024-05-01")), any());
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        MvcResult result = mockMvc.perform(get("/notes/dates/stream")
+                        .param("startDate", "09-01-2024")
+                        .param("endDate", "01-05-2024"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String[] lines = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString().split("\n");
+
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"title\":\"First\""));
+        assertTrue(lines[1].contains("\"title\":\"Second\""));
+    }
+
     @Test
     void testGetNotesBetweenDates_NotLoggedIn() throws Exception{
         LocalDate startDate = LocalDate.parse("2024-01-09");
@@ -24,9 +24,10 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import javax.persistence.EntityNotFoundException;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -423,9 +424,9 @@ public class RequestControllerTest {
         sender = mock(User.class);
         receiver = mock(User.class);
 
-        List<User> userFriend = new ArrayList<>();
+        Set<User> userFriend = new HashSet<>();
         userFriend.add(receiver);
-        List<User> anotherUserFriend = new ArrayList<>();
+        Set<User> anotherUserFriend = new HashSet<>();
         anotherUserFriend.add(sender);
 
         when(sender.getFriendList()).thenReturn(userFriend);
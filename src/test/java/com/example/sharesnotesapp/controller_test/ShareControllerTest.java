@@ -5,10 +5,14 @@ import com.example.sharesnotesapp.model.Note;
 import com.example.sharesnotesapp.model.Share;
 import com.example.sharesnotesapp.model.User;
 import com.example.sharesnotesapp.model.dto.mapper.ShareMapper;
+import com.example.sharesnotesapp.model.dto.mapper.ShareMapperImpl;
 import com.example.sharesnotesapp.model.dto.response.NoteResponseDto;
 import com.example.sharesnotesapp.model.dto.response.ShareResponseDto;
+import com.example.sharesnotesapp.model.dto.response.ShareResultDto;
 import com.example.sharesnotesapp.model.dto.response.UserInfoDto;
 import com.example.sharesnotesapp.model.dto.response.UserResponseDto;
+import com.example.sharesnotesapp.repository.projection.ShareRow;
+import com.example.sharesnotesapp.service.share.ShareReadService;
 import com.example.sharesnotesapp.service.share.ShareServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,6 +21,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -31,6 +36,7 @@ import java.util.List;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 
 @WebMvcTest(ShareController.class)
@@ -42,6 +48,9 @@ public class ShareControllerTest {
     @MockBean
     private ShareServiceImpl shareService;
 
+    @MockBean
+    private ShareReadService shareReadService;
+
     @MockBean
     private ShareMapper mapper;
 
@@ -64,6 +73,18 @@ public class ShareControllerTest {
         authentication = new UsernamePasswordAuthenticationToken(sender, sender.getPassword(), Collections.emptyList());
     }
 
+    private ShareRow row(Share share) {
+        User shareSender = share.getSender();
+        User shareReceiver = share.getReceiver();
+        Note sentNote = share.getSentNote();
+
+        return new ShareRow(share.getId(), share.getSentAt(),
+                shareSender.getId(), shareSender.getFirstName(), shareSender.getLastName(), shareSender.getEmail(),
+                shareReceiver.getId(), shareReceiver.getFirstName(), shareReceiver.getLastName(), shareReceiver.getEmail(),
+                sentNote.getId(), sentNote.getTitle(), sentNote.getText(), sentNote.getDate(), sentNote.getGrade(),
+                sentNote.getUser().getId(), sentNote.getUser().getFirstName(), sentNote.getUser().getLastName(), sentNote.getUser().getEmail());
+    }
+
     @Test
     public void testShareNote() throws Exception {
         SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -95,6 +116,48 @@ public class ShareControllerTest {
                 .andExpect(jsonPath("$.sentAt", is("15-10-2024")));
     }
 
+    @Test
+    public void testGetSharedNotes_OwnerWithoutFriendList() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        ShareMapper shareMapper = new ShareMapperImpl();
+
+        when(shareReadService.getAllSharedNotesBetweenUsers(any(User.class), eq(""))).thenReturn(List.of(row(share)));
+        when(mapper.toDto(any(ShareRow.class))).thenAnswer(invocation -> shareMapper.toDto(invocation.<ShareRow>getArgument(0)));
+
+        mockMvc.perform(get("/share/sent"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].sentNote.user.id", is(1)))
+                .andExpect(jsonPath("$[0].sentNote.user.friends", hasSize(0)));
+    }
+
+    @Test
+    public void testShareNoteWithAll() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        when(shareService.shareNoteWithAll(any(User.class), eq(List.of("receiver@example.com", "missing@example.com")), eq(note.getId())))
+                .thenReturn(List.of(
+                        new ShareResultDto("receiver@example.com", 1L, null),
+                        new ShareResultDto("missing@example.com", null, "User does not exist")));
+
+        mockMvc.perform(post("/share/{noteId}/bulk", note.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"receiverEmails\": [\"receiver@example.com\", \"missing@example.com\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].shareId", is(1)))
+                .andExpect(jsonPath("$[1].error", is("User does not exist")));
+    }
+
+    @Test
+    public void testShareNoteWithAll_EmptyReceivers() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        mockMvc.perform(post("/share/{noteId}/bulk", note.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"receiverEmails\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.receiverEmails", is("Receiver emails should not be empty")));
+    }
+
     @Test
     public void testShareNote_NotLoggedIn() throws Exception {
         String receiverEmail = "receiver@example.com";
@@ -150,9 +213,12 @@ public class ShareControllerTest {
         UserInfoDto anotherUserInfoDto = new UserInfoDto(3L, "User", "User", "user@example.com");
         ShareResponseDto otherShareResponseDto = new ShareResponseDto(senderResponseDto, anotherUserInfoDto, noteResponseDto, LocalDate.parse("2024-10-16"));
 
-        when(shareService.getAllSharedNotesBetweenUsers(any(User.class), any(String.class))).thenReturn(List.of(mockedShare, share));
-        when(mapper.toDto(share)).thenReturn(responseDto);
-        when(mapper.toDto(mockedShare)).thenReturn(otherShareResponseDto);
+        ShareRow shareRow = row(share);
+        ShareRow mockedShareRow = row(mockedShare);
+
+        when(shareReadService.getAllSharedNotesBetweenUsers(any(User.class), any(String.class))).thenReturn(List.of(mockedShareRow, shareRow));
+        when(mapper.toDto(shareRow)).thenReturn(responseDto);
+        when(mapper.toDto(mockedShareRow)).thenReturn(otherShareResponseDto);
 
         mockMvc.perform(get("/share/sent")
                         .param("receiverEmail", ""))
@@ -193,8 +259,8 @@ public class ShareControllerTest {
         ShareResponseDto responseDto
                 = new ShareResponseDto(senderResponseDto, receiverResponseDto, noteResponseDto, LocalDate.parse("2024-10-15"));
 
-        when(shareService.getAllSharedNotesBetweenUsers(any(User.class), any(String.class))).thenReturn(List.of(share));
-        when(mapper.toDto(any(Share.class))).thenReturn(responseDto);
+        when(shareReadService.getAllSharedNotesBetweenUsers(any(User.class), any(String.class))).thenReturn(List.of(row(share)));
+        when(mapper.toDto(any(ShareRow.class))).thenReturn(responseDto);
 
         mockMvc.perform(get("/share/sent")
                         .param("receiverEmail", "receiver@example.com"))
@@ -211,6 +277,28 @@ public class ShareControllerTest {
                 .andExpect(jsonPath("$[0].sentAt", is("15-10-2024")));
     }
 
+    @Test
+    public void testGetAllSharedNotesBetweenUsers_CompactView() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        ShareRow shareRow = row(share);
+        when(shareReadService.getAllSharedNotesBetweenUsers(any(User.class), any(String.class))).thenReturn(List.of(shareRow));
+        when(mapper.toDto(shareRow)).thenCallRealMethod();
+
+        mockMvc.perform(get("/share/sent")
+                        .param("view", "compact"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].sender.id", is(1)))
+                .andExpect(jsonPath("$[0].sender.email").doesNotExist())
+                .andExpect(jsonPath("$[0].receiver.id", is(2)))
+                .andExpect(jsonPath("$[0].receiver.firstName").doesNotExist())
+                .andExpect(jsonPath("$[0].sentNote.user.id", is(1)))
+                .andExpect(jsonPath("$[0].sentNote.user.lastName").doesNotExist())
+                .andExpect(jsonPath("$[0].sentNote.title", is("A title")))
+                .andExpect(jsonPath("$[0].sentAt", is("15-10-2024")));
+    }
+
     @Test
     public void testGetAllSharedNotesBetweenUsers_NotLoggedIn() throws Exception {
         mockMvc.perform(get("/share/sent")
@@ -244,9 +332,12 @@ public class ShareControllerTest {
         UserInfoDto anotherUserInfoDto = new UserInfoDto(3L, "User", "User", "user@example.com");
         ShareResponseDto otherShareResponseDto = new ShareResponseDto(anotherUserInfoDto, senderResponseDto, noteResponseDto1, LocalDate.parse("2024-10-16"));
 
-        when(shareService.getAllReceivedNotesBetweenUsers(any(User.class), any(String.class))).thenReturn(List.of(mockedShare, share));
-        when(mapper.toDto(share)).thenReturn(responseDto);
-        when(mapper.toDto(mockedShare)).thenReturn(otherShareResponseDto);
+        ShareRow shareRow = row(share);
+        ShareRow mockedShareRow = row(mockedShare);
+
+        when(shareReadService.getAllReceivedNotesBetweenUsers(any(User.class), any(String.class))).thenReturn(List.of(mockedShareRow, shareRow));
+        when(mapper.toDto(shareRow)).thenReturn(responseDto);
+        when(mapper.toDto(mockedShareRow)).thenReturn(otherShareResponseDto);
 
         mockMvc.perform(get("/share/received")
                         .param("senderEmail", ""))
@@ -291,8 +382,8 @@ public class ShareControllerTest {
         ShareResponseDto responseDto
                 = new ShareResponseDto(receiverResponseDto, senderResponseDto, noteResponseDto, LocalDate.parse("2024-10-15"));
 
-        when(shareService.getAllReceivedNotesBetweenUsers(any(User.class), any(String.class))).thenReturn(List.of(share));
-        when(mapper.toDto(any(Share.class))).thenReturn(responseDto);
+        when(shareReadService.getAllReceivedNotesBetweenUsers(any(User.class), any(String.class))).thenReturn(List.of(row(share)));
+        when(mapper.toDto(any(ShareRow.class))).thenReturn(responseDto);
 
         mockMvc.perform(get("/share/received")
                         .param("senderEmail", "sender@example.com"))
@@ -7,6 +7,7 @@ import com.example.sharesnotesapp.model.dto.request.UserNameDto;
 import com.example.sharesnotesapp.model.dto.request.UserRequestDto;
 import com.example.sharesnotesapp.model.dto.response.UserInfoDto;
 import com.example.sharesnotesapp.model.dto.response.UserResponseDto;
+import com.example.sharesnotesapp.service.user.UserResponseCache;
 import com.example.sharesnotesapp.service.user.UserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -37,7 +38,7 @@ import java.util.List;
 import java.util.Optional;
 
 @WebMvcTest(UserController.class)
-@Import(TestSecurityConfig.class)
+@Import({TestSecurityConfig.class, UserResponseCache.class})
 class UserControllerTest {
     @Autowired
     private MockMvc mockMvc;
@@ -81,6 +82,24 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.email", is("email@test.com")));
     }
 
+    @Test
+    @WithMockUser(username = "email@test.com", password = "test123")
+    void testGetUserById_ServedFromCache() throws Exception {
+        Long id = 2L;
+        UserResponseDto userResponseDto = new UserResponseDto(id, user.getFirstName(), user.getLastName(), user.getEmail());
+
+        when(userService.getUserById(id)).thenReturn(Optional.of(user));
+        when(mapper.toDto(user)).thenReturn(userResponseDto);
+
+        mockMvc.perform(get("/user/{id}", id))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/user/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName", is("First-name")));
+
+        verify(userService, times(1)).getUserById(id);
+    }
+
     @Test
     void testGetUserById_InvalidId() throws Exception {
         Long nonExistentId = 999L;
@@ -0,0 +1,86 @@
+package com.example.sharesnotesapp.repository_test;
+
+import com.example.sharesnotesapp.model.User;
+import com.example.sharesnotesapp.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class FriendshipQueryTest {
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+
+    private Statistics statistics;
+    private User user;
+    private User friend;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = entityManager.persist(new User(null, "User", "User", "user@example.com", "test123"));
+        friend = entityManager.persist(new User(null, "Friend", "Friend", "friend@example.com", "test123"));
+    }
+
+    private void createOtherFriends(int count) {
+        for (int i = 0; i < count; i++) {
+            User other = entityManager.persist(new User(null, "Other", "Other" + i, "other" + i + "@example.com", "test123"));
+            user.getFriendList().add(other);
+            other.getFriendList().add(user);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 50})
+    void testAddAndRemoveFriendship_IndependentOfFriendCount(int otherFriends) {
+        createOtherFriends(otherFriends);
+
+        assertFalse(userRepository.areFriends(user.getId(), friend.getId()));
+        assertEquals(2, userRepository.addFriendship(user.getId(), friend.getId()));
+        assertTrue(userRepository.areFriends(user.getId(), friend.getId()));
+        assertTrue(userRepository.areFriends(friend.getId(), user.getId()));
+        assertEquals(2, userRepository.removeFriendship(friend.getId(), user.getId()));
+        assertFalse(userRepository.areFriends(user.getId(), friend.getId()));
+
+        assertEquals(6, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void testAddFriendship_Twice() {
+        userRepository.addFriendship(user.getId(), friend.getId());
+
+        assertThrows(DataIntegrityViolationException.class, () -> userRepository.addFriendship(friend.getId(), user.getId()));
+    }
+
+    @Test
+    void testFriendList_LoadsAsSet() {
+        userRepository.addFriendship(user.getId(), friend.getId());
+        entityManager.clear();
+
+        User loaded = userRepository.findById(user.getId()).orElseThrow();
+
+        assertEquals(1, loaded.getFriendList().size());
+        assertEquals(friend.getId(), loaded.getFriendList().iterator().next().getId());
+    }
+}
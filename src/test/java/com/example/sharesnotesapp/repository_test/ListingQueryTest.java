@@ -0,0 +1,208 @@
+package com.example.sharesnotesapp.repository_test;
+
+import com.example.sharesnotesapp.model.Note;
+import com.example.sharesnotesapp.model.Share;
+import com.example.sharesnotesapp.model.User;
+import com.example.sharesnotesapp.model.dto.mapper.NoteMapper;
+import com.example.sharesnotesapp.model.dto.mapper.ShareMapper;
+import com.example.sharesnotesapp.model.dto.response.NoteResponseDto;
+import com.example.sharesnotesapp.model.dto.response.ShareResponseDto;
+import com.example.sharesnotesapp.repository.NoteRepository;
+import com.example.sharesnotesapp.repository.ShareRepository;
+import com.example.sharesnotesapp.repository.UserRepository;
+import com.example.sharesnotesapp.repository.projection.NoteRow;
+import com.example.sharesnotesapp.service.note.NoteReadServiceImpl;
+import com.example.sharesnotesapp.service.note.NoteRowCache;
+import com.example.sharesnotesapp.service.note.NoteRowPage;
+import com.example.sharesnotesapp.service.note.NoteSearchIndex;
+import com.example.sharesnotesapp.service.share.ShareReadServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityNotFoundException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ListingQueryTest {
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private ShareRepository shareRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final NoteMapper noteMapper = Mappers.getMapper(NoteMapper.class);
+    private final ShareMapper shareMapper = Mappers.getMapper(ShareMapper.class);
+
+    private Statistics statistics;
+    private User sender;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        sender = entityManager.persist(new User(null, "Sender", "Sender", "sender@example.com", "test123"));
+    }
+
+    private void createNotesAndShares(int count) {
+        for (int i = 0; i < count; i++) {
+            User receiver = entityManager.persist(new User(null, "Receiver", "Receiver" + i, "receiver" + i + "@example.com", "test123"));
+            receiver.getFriendList().add(sender);
+            sender.getFriendList().add(receiver);
+
+            Note note = entityManager.persist(new Note(null, sender, LocalDate.parse("2024-05-01").plusDays(i), "Title " + i, "Text", 5));
+            entityManager.persist(new Share(null, sender, receiver, note, LocalDate.parse("2024-06-01").plusDays(i)));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    private NoteReadServiceImpl noteReadService() {
+        return new NoteReadServiceImpl(noteRepository, new NoteRowCache(0, 0), new NoteSearchIndex(noteRepository));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    void testNoteListing_OneStatement(int count) {
+        createNotesAndShares(count);
+
+        List<NoteResponseDto> notes = noteReadService().getNotesByUser(sender).stream()
+                .map(noteMapper::toDto)
+                .toList();
+
+        assertEquals(count, notes.size());
+        assertEquals("Title " + (count - 1), notes.get(0).getTitle());
+        assertEquals("sender@example.com", notes.get(0).getUser().getEmail());
+        assertTrue(notes.get(0).getUser().getFriends().isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    void testNotePages_OneStatement(int count) {
+        createNotesAndShares(count);
+        NoteReadServiceImpl noteReadService = noteReadService();
+
+        NoteRowPage page = noteReadService.getNotesPage(sender, null, 20);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        NoteRowPage filteredPage = noteReadService.getFilteredNotesPage(sender, "title", page.nextCursor(), 20);
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        List<NoteResponseDto> notes = page.notes().stream().map(noteMapper::toDto).toList();
+        assertEquals(Math.min(count, 20), notes.size());
+        assertEquals("Title " + (count - 1), notes.get(0).getTitle());
+        assertEquals("sender@example.com", notes.get(0).getUser().getEmail());
+        assertEquals(count > 20 ? count - 20 : count, filteredPage.notes().size());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    void testNoteSearch_OneStatement(int count) {
+        createNotesAndShares(count);
+        NoteSearchIndex searchIndex = new NoteSearchIndex(noteRepository);
+        searchIndex.rebuild();
+        NoteReadServiceImpl noteReadService = new NoteReadServiceImpl(noteRepository, new NoteRowCache(0, 0), searchIndex);
+        statistics.clear();
+
+        List<NoteResponseDto> notes = noteReadService.searchNotes(sender, "title", 100).stream()
+                .map(noteMapper::toDto)
+                .toList();
+
+        assertEquals(count, notes.size());
+        assertEquals("sender@example.com", notes.get(0).getUser().getEmail());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testNotesBetweenDates_OnlyTheUsersNotes() {
+        createNotesAndShares(5);
+        User other = entityManager.persist(new User(null, "Other", "Other", "other@example.com", "test123"));
+        entityManager.persist(new Note(null, other, LocalDate.parse("2024-05-02"), "Other title", "Text", 5));
+        entityManager.flush();
+
+        NoteReadServiceImpl noteReadService = noteReadService();
+        LocalDate startDate = LocalDate.parse("2024-05-01");
+        LocalDate endDate = LocalDate.parse("2024-05-04");
+
+        List<NoteRow> notes = noteReadService.getNotesBetweenDates(sender, startDate, endDate);
+        NoteRowPage firstPage = noteReadService.getNotesBetweenDatesPage(sender, startDate, endDate, null, 3);
+        NoteRowPage secondPage = noteReadService.getNotesBetweenDatesPage(sender, startDate, endDate, firstPage.nextCursor(), 3);
+        List<NoteRow> streamed = new ArrayList<>();
+        noteReadService.streamNotesBetweenDates(sender, startDate, endDate, streamed::add);
+
+        assertEquals(List.of("Title 0", "Title 1", "Title 2", "Title 3"), notes.stream().map(NoteRow::title).toList());
+        assertEquals(List.of("Title 0", "Title 1", "Title 2"), firstPage.notes().stream().map(NoteRow::title).toList());
+        assertEquals(List.of("Title 3"), secondPage.notes().stream().map(NoteRow::title).toList());
+        assertNull(secondPage.nextCursor());
+        assertEquals(notes, streamed);
+    }
+
+    @Test
+    void testGetNoteById_SelectedOnce() {
+        createNotesAndShares(1);
+        Long id = noteRepository.findAll().get(0).getId();
+        NoteRowCache noteRowCache = new NoteRowCache(10, 60000);
+        NoteReadServiceImpl noteReadService = new NoteReadServiceImpl(noteRepository, noteRowCache, new NoteSearchIndex(noteRepository));
+        statistics.clear();
+
+        NoteRow first = noteReadService.getNoteById(id);
+        NoteRow second = noteReadService.getNoteById(id);
+        noteRowCache.invalidateUser(sender.getId());
+        noteReadService.getNoteById(id);
+
+        assertEquals("Title 0", first.title());
+        assertSame(first, second);
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertThrows(EntityNotFoundException.class, () -> noteReadService.getNoteById(-1L));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    void testShareListing_OneStatement(int count) {
+        createNotesAndShares(count);
+
+        List<ShareResponseDto> shares = new ShareReadServiceImpl(shareRepository, userRepository)
+                .getAllSharedNotesBetweenUsers(sender, "").stream()
+                .map(shareMapper::toDto)
+                .toList();
+
+        assertEquals(count, shares.size());
+        assertEquals("receiver" + (count - 1) + "@example.com", shares.get(0).getReceiver().getEmail());
+        assertEquals("Title " + (count - 1), shares.get(0).getSentNote().getTitle());
+        assertEquals("sender@example.com", shares.get(0).getSentNote().getUser().getEmail());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {25})
+    void testShareListing_EntitiesLoadRelationsOneByOne(int count) {
+        createNotesAndShares(count);
+
+        List<ShareResponseDto> shares = shareRepository.getSharesBySenderOrderBySentAtDesc(sender).stream()
+                .map(shareMapper::toDto)
+                .toList();
+
+        assertEquals(count, shares.size());
+        assertTrue(statistics.getPrepareStatementCount() > count);
+    }
+}
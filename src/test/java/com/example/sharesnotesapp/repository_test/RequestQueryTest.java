@@ -0,0 +1,178 @@
+package com.example.sharesnotesapp.repository_test;
+
+import com.example.sharesnotesapp.cache.SecondLevelCache;
+import com.example.sharesnotesapp.config.AsyncConfiguration;
+import com.example.sharesnotesapp.model.Request;
+import com.example.sharesnotesapp.model.Status;
+import com.example.sharesnotesapp.model.User;
+import com.example.sharesnotesapp.model.dto.request.RequestRequestDto;
+import com.example.sharesnotesapp.repository.RequestRepository;
+import com.example.sharesnotesapp.repository.UserRepository;
+import com.example.sharesnotesapp.security.PrincipalCache;
+import com.example.sharesnotesapp.service.request.FriendshipEventListener;
+import com.example.sharesnotesapp.service.request.RequestService;
+import com.example.sharesnotesapp.service.request.RequestServiceImpl;
+import com.example.sharesnotesapp.service.user.UserResponseCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({RequestServiceImpl.class, FriendshipEventListener.class, PrincipalCache.class, UserResponseCache.class,
+        SecondLevelCache.class, AsyncConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RequestQueryTest {
+    private static final List<Status> BLOCKING = List.of(Status.PENDING, Status.ACCEPTED);
+
+    @Autowired
+    private RequestRepository requestRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RequestService requestService;
+    @Autowired
+    private PrincipalCache principalCache;
+
+    private User sender;
+    private User receiver;
+
+    @BeforeEach
+    void setup() {
+        sender = userRepository.save(new User(null, "Sender", "Sender", "sender@example.com", "test123"));
+        receiver = userRepository.save(new User(null, "Receiver", "Receiver", "receiver@example.com", "test123"));
+    }
+
+    @AfterEach
+    void cleanup() {
+        requestRepository.deleteAll();
+        userRepository.removeFriendship(sender.getId(), receiver.getId());
+        userRepository.deleteAll();
+    }
+
+    private Request saveRequest(User from, User to, Status status) {
+        Request request = requestRepository.save(new Request(null, from, to, null, LocalDateTime.now()));
+        request.setStatus(status);
+
+        return requestRepository.save(request);
+    }
+
+    private <T> int[] runConcurrently(int threads, Callable<T> task) throws InterruptedException {
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Callable<T>> tasks = Collections.nCopies(threads, () -> {
+            barrier.await();
+            return task.call();
+        });
+
+        int succeeded = 0;
+        int rejected = 0;
+        try {
+            for (Future<T> result : executor.invokeAll(tasks)) {
+                try {
+                    result.get();
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(IllegalArgumentException.class, e.getCause());
+                    rejected++;
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        return new int[]{succeeded, rejected};
+    }
+
+    @Test
+    void testFindStatusesBetween_BothDirections() {
+        saveRequest(receiver, sender, Status.ACCEPTED);
+
+        assertEquals(List.of(Status.ACCEPTED), requestRepository.findStatusesBetween(sender.getId(), receiver.getId(), BLOCKING));
+        assertEquals(List.of(Status.ACCEPTED), requestRepository.findStatusesBetween(receiver.getId(), sender.getId(), BLOCKING));
+    }
+
+    @Test
+    void testFindStatusesBetween_IgnoresDeclined() {
+        saveRequest(sender, receiver, Status.DECLINED);
+        saveRequest(sender, receiver, Status.DECLINED);
+
+        assertTrue(requestRepository.findStatusesBetween(sender.getId(), receiver.getId(), BLOCKING).isEmpty());
+    }
+
+    @Test
+    void testDeleteAllBetween_OnlyThePair() {
+        User other = userRepository.save(new User(null, "Other", "Other", "other@example.com", "test123"));
+        saveRequest(sender, receiver, Status.ACCEPTED);
+        saveRequest(receiver, sender, Status.DECLINED);
+        saveRequest(sender, other, Status.PENDING);
+
+        assertEquals(2, requestRepository.deleteAllBetween(receiver.getId(), sender.getId()));
+        assertEquals(1, requestRepository.count());
+    }
+
+    @Test
+    void testSendRequest_ConcurrentDuplicates() throws Exception {
+        RequestRequestDto requestDto = new RequestRequestDto();
+        requestDto.setSenderId(sender.getId());
+        requestDto.setReceiverEmail(receiver.getEmail());
+
+        int[] results = runConcurrently(4, () -> requestService.sendRequest(requestDto));
+
+        assertEquals(1, results[0]);
+        assertEquals(3, results[1]);
+        assertEquals(1, requestRepository.count());
+    }
+
+    @Test
+    void testAcceptRequest_ConcurrentAccepts() throws Exception {
+        Request request = saveRequest(sender, receiver, Status.PENDING);
+
+        int[] results = runConcurrently(4, () -> {
+            requestService.acceptRequest(request.getId());
+            return null;
+        });
+
+        assertEquals(1, results[0]);
+        assertEquals(3, results[1]);
+        assertEquals(Status.ACCEPTED, requestRepository.findById(request.getId()).orElseThrow().getStatus());
+        assertTrue(userRepository.areFriends(sender.getId(), receiver.getId()));
+    }
+
+    @Test
+    void testAcceptRequest_InvalidatesPrincipalsAfterCommit() throws Exception {
+        Request request = saveRequest(sender, receiver, Status.PENDING);
+        principalCache.getPrincipal(sender.getEmail(), email -> sender);
+
+        requestService.acceptRequest(request.getId());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        AtomicInteger loads = new AtomicInteger();
+        while (loads.get() == 0 && System.currentTimeMillis() < deadline) {
+            principalCache.getPrincipal(sender.getEmail(), email -> {
+                loads.incrementAndGet();
+                return null;
+            });
+            Thread.sleep(10);
+        }
+
+        assertEquals(1, loads.get());
+    }
+}
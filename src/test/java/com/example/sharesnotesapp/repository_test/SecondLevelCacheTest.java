@@ -0,0 +1,167 @@
+package com.example.sharesnotesapp.repository_test;
+
+import com.example.sharesnotesapp.cache.SecondLevelCache;
+import com.example.sharesnotesapp.config.SecondLevelCacheConfiguration;
+import com.example.sharesnotesapp.model.Note;
+import com.example.sharesnotesapp.model.User;
+import com.example.sharesnotesapp.repository.NoteRepository;
+import com.example.sharesnotesapp.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({SecondLevelCacheConfiguration.class, SecondLevelCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private TransactionTemplate transactionTemplate;
+    private User user;
+    private User friend;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        user = userRepository.save(new User(null, "User", "User", "user@example.com", "test123"));
+        friend = userRepository.save(new User(null, "Friend", "Friend", "friend@example.com", "test123"));
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        noteRepository.deleteAll();
+        userRepository.removeFriendship(user.getId(), friend.getId());
+        userRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private Set<Long> friendIds(Long userId) {
+        return transactionTemplate.execute(status -> userRepository.findById(userId).orElseThrow()
+                .getFriendList().stream()
+                .map(User::getId)
+                .collect(Collectors.toSet()));
+    }
+
+    @Test
+    void testFindById_ServedFromCache() {
+        userRepository.findById(user.getId()).orElseThrow();
+        statistics.clear();
+
+        User cached = userRepository.findById(user.getId()).orElseThrow();
+
+        assertEquals("User", cached.getFirstName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void testFindById_SeesUpdates() {
+        userRepository.findById(user.getId()).orElseThrow();
+
+        User updated = userRepository.findById(user.getId()).orElseThrow();
+        updated.setFirstName("Renamed");
+        userRepository.save(updated);
+        statistics.clear();
+
+        assertEquals("Renamed", userRepository.findById(user.getId()).orElseThrow().getFirstName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindUserByEmail_CachedUntilUsersChange() {
+        userRepository.findUserByEmail(user.getEmail()).orElseThrow();
+        statistics.clear();
+
+        userRepository.findUserByEmail(user.getEmail()).orElseThrow();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        User updated = userRepository.findById(user.getId()).orElseThrow();
+        updated.setEmail("changed@example.com");
+        userRepository.save(updated);
+
+        assertTrue(userRepository.findUserByEmail("user@example.com").isEmpty());
+        assertEquals(updated.getId(), userRepository.findUserByEmail("changed@example.com").orElseThrow().getId());
+    }
+
+    @Test
+    void testFriendList_SeesFriendshipChanges() {
+        assertEquals(Set.of(), friendIds(user.getId()));
+        statistics.clear();
+        assertEquals(Set.of(), friendIds(user.getId()));
+        assertEquals(0, statistics.getCollectionLoadCount());
+
+        userRepository.addFriendship(user.getId(), friend.getId());
+        secondLevelCache.evictFriendLists(Set.of(user.getId(), friend.getId()));
+        assertEquals(Set.of(friend.getId()), friendIds(user.getId()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.removeFriendship(friend.getId(), user.getId());
+            secondLevelCache.evictFriendLists(Set.of(user.getId(), friend.getId()));
+            friendIds(user.getId());
+        });
+        assertEquals(Set.of(), friendIds(user.getId()));
+    }
+
+    @Test
+    void testNativeFriendshipWrites_KeepEntityCache() {
+        userRepository.findById(user.getId()).orElseThrow();
+
+        userRepository.addFriendship(user.getId(), friend.getId());
+        statistics.clear();
+        userRepository.findById(user.getId()).orElseThrow();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testNote_SeesUpdatesAndDatabaseDeletes() {
+        Note note = noteRepository.save(new Note(null, user, LocalDate.parse("2024-05-01"), "Title", "Text", 5));
+        noteRepository.findById(note.getId()).orElseThrow();
+
+        Note updated = noteRepository.findById(note.getId()).orElseThrow();
+        updated.setTitle("New title");
+        noteRepository.save(updated);
+        statistics.clear();
+
+        assertEquals("New title", noteRepository.findById(note.getId()).orElseThrow().getTitle());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        jdbcTemplate.update("DELETE FROM notes WHERE user_id = ?", user.getId());
+        secondLevelCache.evictUserDependents();
+
+        assertTrue(noteRepository.findById(note.getId()).isEmpty());
+    }
+}
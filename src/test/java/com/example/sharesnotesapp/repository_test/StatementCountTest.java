@@ -0,0 +1,70 @@
+package com.example.sharesnotesapp.repository_test;
+
+import com.example.sharesnotesapp.metrics.RequestStatistics;
+import com.example.sharesnotesapp.model.Note;
+import com.example.sharesnotesapp.model.Share;
+import com.example.sharesnotesapp.model.User;
+import com.example.sharesnotesapp.repository.NoteRepository;
+import com.example.sharesnotesapp.repository.ShareRepository;
+import com.example.sharesnotesapp.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.sharesnotesapp.metrics.StatementCountingInspector")
+class StatementCountTest {
+    private static final int SHARES = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private ShareRepository shareRepository;
+
+    private User sender;
+
+    @BeforeEach
+    void setup() {
+        sender = userRepository.save(new User(null, "Sender", "Sender", "sender@example.com", "test123"));
+        for (int i = 0; i < SHARES; i++) {
+            User receiver = userRepository.save(new User(null, "Receiver", "Receiver" + i, "receiver" + i + "@example.com", "test123"));
+            Note note = noteRepository.save(Note.builder().user(sender).title("Note " + i).date(LocalDate.now()).build());
+            shareRepository.save(new Share(null, sender, receiver, note, LocalDate.now()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testShareEntities_LazyAssociationsSelectedOneByOne() {
+        RequestStatistics statistics = RequestStatistics.capture(() -> {
+            List<Share> shares = shareRepository.getSharesBySenderOrderBySentAtDesc(sender);
+            shares.forEach(share -> {
+                share.getReceiver().getEmail();
+                share.getSentNote().getTitle();
+            });
+        });
+
+        assertEquals(SHARES, statistics.getMaxRepeats());
+        assertEquals(1 + 2 * SHARES, statistics.getStatements());
+    }
+
+    @Test
+    void testShareRows_OneStatement() {
+        RequestStatistics statistics = RequestStatistics.capture(() -> shareRepository.findShareRowsBySender(sender));
+
+        assertEquals(1, statistics.getStatements());
+        assertEquals(1, statistics.getMaxRepeats());
+    }
+}
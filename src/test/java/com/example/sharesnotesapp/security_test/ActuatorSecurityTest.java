@@ -0,0 +1,67 @@
+package com.example.sharesnotesapp.security_test;
+
+import com.example.sharesnotesapp.controller.RequestController;
+import com.example.sharesnotesapp.model.dto.mapper.RequestMapper;
+import com.example.sharesnotesapp.security.PasswordConfiguration;
+import com.example.sharesnotesapp.security.PrincipalCache;
+import com.example.sharesnotesapp.security.SecurityConfig;
+import com.example.sharesnotesapp.security.jwt.AuthEntryPointJwt;
+import com.example.sharesnotesapp.security.jwt.JwtUtils;
+import com.example.sharesnotesapp.service.request.RequestService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = RequestController.class,
+        properties = {"app.metricsUser=prometheus", "app.metricsPassword=scrape-secret"})
+@Import({SecurityConfig.class, PasswordConfiguration.class, AuthEntryPointJwt.class})
+class ActuatorSecurityTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+    @MockBean
+    private JwtUtils jwtUtils;
+    @MockBean
+    private PrincipalCache principalCache;
+    @MockBean
+    private RequestService requestService;
+    @MockBean
+    private RequestMapper requestMapper;
+
+    // the actuator endpoints are not part of the web slice, so a request passing security ends in a 404
+    @Test
+    void testPrometheus_OnlyForTheMetricsUser() throws Exception {
+        when(userDetailsService.loadUserByUsername(anyString())).thenThrow(new UsernameNotFoundException("User does not exist"));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(user("user@example.com")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "wrong")))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "scrape-secret")))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("prometheus", "scrape-secret")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testHealth_Public() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isNotFound());
+    }
+}
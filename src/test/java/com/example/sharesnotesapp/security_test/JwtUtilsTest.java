@@ -0,0 +1,96 @@
+package com.example.sharesnotesapp.security_test;
+
+import com.example.sharesnotesapp.security.jwt.JwtUtils;
+import com.example.sharesnotesapp.security.jwt.VerifiedJwt;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilsTest {
+    private static final String SECRET = "test-secret";
+
+    private JwtUtils jwtUtils;
+
+    @BeforeEach
+    void setup() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 60000);
+        ReflectionTestUtils.setField(jwtUtils, "jwtCacheMaxSize", 100);
+        jwtUtils.initVerifiedTokenCache();
+    }
+
+    @Test
+    void testVerifyJwtToken() {
+        String token = jwtUtils.generateTokenFromUsername("email@test.com");
+
+        Optional<VerifiedJwt> verifiedJwt = jwtUtils.verifyJwtToken(token);
+
+        assertTrue(verifiedJwt.isPresent());
+        assertEquals("email@test.com", verifiedJwt.get().subject());
+        assertTrue(verifiedJwt.get().expiration().after(new Date()));
+        assertTrue(jwtUtils.validateJwtToken(token));
+    }
+
+    @Test
+    void testVerifyJwtToken_RepeatedTokenUsesCache() {
+        String token = jwtUtils.generateTokenFromUsername("email@test.com");
+
+        VerifiedJwt first = jwtUtils.verifyJwtToken(token).orElseThrow();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "another-secret");
+        VerifiedJwt second = jwtUtils.verifyJwtToken(token).orElseThrow();
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void testVerifyJwtToken_RecordsValidationTime() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        jwtUtils.bindTo(registry);
+        String token = jwtUtils.generateTokenFromUsername("email@test.com");
+
+        jwtUtils.verifyJwtToken(token);
+        jwtUtils.verifyJwtToken(token);
+        jwtUtils.verifyJwtToken("not-a-token");
+
+        assertEquals(1, registry.get("jwt.validation").tag("outcome", "parsed").timer().count());
+        assertEquals(1, registry.get("jwt.validation").tag("outcome", "cached").timer().count());
+        assertEquals(1, registry.get("jwt.validation").tag("outcome", "rejected").timer().count());
+    }
+
+    @Test
+    void testVerifyJwtToken_InvalidSignature() {
+        String token = Jwts.builder()
+                .setSubject("email@test.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(SignatureAlgorithm.HS512, "another-secret")
+                .compact();
+
+        assertTrue(jwtUtils.verifyJwtToken(token).isEmpty());
+    }
+
+    @Test
+    void testVerifyJwtToken_Expired() {
+        String token = Jwts.builder()
+                .setSubject("email@test.com")
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(SignatureAlgorithm.HS512, SECRET)
+                .compact();
+
+        assertTrue(jwtUtils.verifyJwtToken(token).isEmpty());
+    }
+
+    @Test
+    void testVerifyJwtToken_Malformed() {
+        assertTrue(jwtUtils.verifyJwtToken("not-a-token").isEmpty());
+        assertTrue(jwtUtils.verifyJwtToken("").isEmpty());
+    }
+}
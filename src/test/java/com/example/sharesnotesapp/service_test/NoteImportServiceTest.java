@@ -0,0 +1,147 @@
+package com.example.sharesnotesapp.service_test;
+
+import com.example.sharesnotesapp.model.Note;
+import com.example.sharesnotesapp.model.User;
+import com.example.sharesnotesapp.model.dto.response.ImportErrorDto;
+import com.example.sharesnotesapp.model.dto.response.NoteImportResponseDto;
+import com.example.sharesnotesapp.repository.NoteRepository;
+import com.example.sharesnotesapp.repository.UserRepository;
+import com.example.sharesnotesapp.service.note.NoteImportServiceImpl;
+import com.example.sharesnotesapp.service.note.NoteSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityNotFoundException;
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class NoteImportServiceTest {
+    @Mock
+    private NoteRepository noteRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private NoteSearchIndex searchIndex;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private EntityManager entityManager;
+
+    private NoteImportServiceImpl noteImportService;
+    private User user;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        noteImportService = new NoteImportServiceImpl(noteRepository, userRepository, searchIndex,
+                new ObjectMapper().findAndRegisterModules(), Validation.buildDefaultValidatorFactory().getValidator(),
+                transactionManager, entityManager, 2, 100);
+
+        user = new User();
+        user.setId(1L);
+
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(noteRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String note(String title, int grade) {
+        return "{\"title\":\"" + title + "\",\"text\":\"text\",\"date\":\"01-05-2024\",\"grade\":" + grade + "}";
+    }
+
+    @Test
+    void testImportNotes_JsonArrayInBatches() throws IOException {
+        String content = "[" + String.join(",", note("a", 5), note("b", 6), note("c", 7)) + "]";
+
+        NoteImportResponseDto result = noteImportService.importNotes(user.getId(), input(content));
+
+        assertEquals(3, result.getImported());
+        assertEquals(0, result.getFailed());
+        verify(userRepository, times(1)).findById(user.getId());
+        verify(noteRepository, times(2)).saveAll(anyList());
+        verify(entityManager, times(2)).clear();
+        verify(searchIndex, times(3)).index(any(Note.class));
+    }
+
+    @Test
+    void testImportNotes_NdjsonWithInvalidItems() throws IOException {
+        String content = String.join("\n", note("a", 5), note("", 6), "{\"title\":\"c\",\"date\":\"2024/05/01\",\"grade\":5}", note("d", 11), note("e", 2));
+
+        NoteImportResponseDto result = noteImportService.importNotes(user.getId(), input(content));
+
+        assertEquals(2, result.getImported());
+        assertEquals(List.of(1, 2, 3), result.getErrors().stream().map(ImportErrorDto::getIndex).toList());
+        assertEquals("Title should not be empty", result.getErrors().get(0).getMessage());
+        assertTrue(result.getErrors().get(1).getMessage().startsWith("Invalid note"));
+        assertEquals("Values must be integers between 1 and 10", result.getErrors().get(2).getMessage());
+    }
+
+    @Test
+    void testImportNotes_FailedBatchIsRetriedOneByOne() throws IOException {
+        when(noteRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Note> notes = invocation.getArgument(0);
+            if (notes.stream().anyMatch(note -> note.getTitle().equals("bad"))) {
+                throw new DataIntegrityViolationException("too long");
+            }
+            return notes;
+        });
+
+        NoteImportResponseDto result = noteImportService.importNotes(user.getId(), input(note("good", 5) + note("bad", 5)));
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(new ImportErrorDto(1, "Note could not be saved"), result.getErrors().get(0));
+    }
+
+    @Test
+    void testImportNotes_MalformedJson() throws IOException {
+        NoteImportResponseDto result = noteImportService.importNotes(user.getId(), input(note("a", 5) + "\n{\"title\":"));
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getErrors().get(0).getIndex());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    void testImportNotes_ItemsOverLimitAreSkipped() throws IOException {
+        noteImportService = new NoteImportServiceImpl(noteRepository, userRepository, searchIndex,
+                new ObjectMapper().findAndRegisterModules(), Validation.buildDefaultValidatorFactory().getValidator(),
+                transactionManager, entityManager, 2, 2);
+        String content = "[" + String.join(",", note("a", 5), note("", 6), note("c", 7), note("d", 8), note("e", 9)) + "]";
+
+        NoteImportResponseDto result = noteImportService.importNotes(user.getId(), input(content));
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(3, result.getSkipped());
+        assertEquals(List.of(1), result.getErrors().stream().map(ImportErrorDto::getIndex).toList());
+        verify(searchIndex, times(1)).index(any(Note.class));
+    }
+
+    @Test
+    void testImportNotes_InvalidUser() {
+        when(userRepository.findById(100L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> noteImportService.importNotes(100L, input("[]")));
+        verify(noteRepository, never()).saveAll(anyList());
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.sharesnotesapp.service_test;
+
+import com.example.sharesnotesapp.model.User;
+import com.example.sharesnotesapp.repository.NoteRepository;
+import com.example.sharesnotesapp.repository.projection.NoteRow;
+import com.example.sharesnotesapp.service.note.NoteCursor;
+import com.example.sharesnotesapp.service.note.NoteReadServiceImpl;
+import com.example.sharesnotesapp.service.note.NoteRowCache;
+import com.example.sharesnotesapp.service.note.NoteRowPage;
+import com.example.sharesnotesapp.service.note.NoteSearchIndex;
+import com.example.sharesnotesapp.service.note.NoteServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class NoteReadServiceTest {
+    @Mock
+    private NoteRepository noteRepository;
+    @Mock
+    private NoteRowCache noteRowCache;
+    @Mock
+    private NoteSearchIndex searchIndex;
+
+    @InjectMocks
+    private NoteReadServiceImpl noteReadService;
+    private User user;
+    private NoteRow note;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        user = new User(1L, "First-Name", "Last-Name", "email@test.com", "test123");
+        note = row(1L, "A title", LocalDate.parse("2024-04-09"));
+    }
+
+    private NoteRow row(Long id, String title, LocalDate date) {
+        return new NoteRow(id, title, "Some text", date, 5, user.getId(), user.getFirstName(), user.getLastName(), user.getEmail());
+    }
+
+    @Test
+    void testGetNotesPage_FirstPage() {
+        NoteRow second = row(2L, "Second", LocalDate.parse("2024-04-08"));
+        NoteRow third = row(3L, "Third", LocalDate.parse("2024-04-07"));
+
+        when(noteRepository.findNoteRowsPage(user, PageRequest.of(0, 3))).thenReturn(List.of(note, second, third));
+
+        NoteRowPage page = noteReadService.getNotesPage(user, null, 2);
+
+        assertEquals(List.of(note, second), page.notes());
+        assertEquals(new NoteCursor(second.date(), 2L), NoteCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void testGetNotesPage_AfterCursor() {
+        NoteRow third = row(3L, "Third", LocalDate.parse("2024-04-07"));
+        NoteCursor cursor = new NoteCursor(LocalDate.parse("2024-04-08"), 2L);
+
+        when(noteRepository.findNoteRowsPageAfter(user, cursor.date(), cursor.id(), PageRequest.of(0, 3)))
+                .thenReturn(List.of(third));
+
+        NoteRowPage page = noteReadService.getNotesPage(user, cursor.encode(), 2);
+
+        assertEquals(List.of(third), page.notes());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void testGetNotesPage_SizeIsCapped() {
+        noteReadService.getNotesPage(user, null, 10_000);
+
+        verify(noteRepository).findNoteRowsPage(user, PageRequest.of(0, NoteServiceImpl.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void testGetNotesPage_InvalidCursor() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> noteReadService.getNotesPage(user, "not-a-cursor", null));
+
+        assertEquals("Invalid page cursor", exception.getMessage());
+    }
+
+    @Test
+    void testGetNotesPage_InvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> noteReadService.getNotesPage(user, null, 0));
+    }
+
+    @Test
+    void testGetFilteredNotesPage_AfterCursor() {
+        NoteCursor cursor = new NoteCursor(LocalDate.parse("2024-04-08"), 2L);
+
+        when(noteRepository.findNoteRowsByTitlePageAfter(user, "title", cursor.date(), cursor.id(),
+                PageRequest.of(0, NoteServiceImpl.DEFAULT_PAGE_SIZE + 1))).thenReturn(List.of(note));
+
+        NoteRowPage page = noteReadService.getFilteredNotesPage(user, "title", cursor.encode(), null);
+
+        assertEquals(List.of(note), page.notes());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void testSearchNotes_RankedByIndex() {
+        NoteRow second = row(2L, "Second", LocalDate.parse("2024-04-08"));
+
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search(user.getId(), "title", NoteServiceImpl.DEFAULT_PAGE_SIZE)).thenReturn(List.of(2L, 1L));
+        when(noteRepository.findNoteRowsByIdIn(List.of(2L, 1L))).thenReturn(List.of(note, second));
+
+        List<NoteRow> notes = noteReadService.searchNotes(user, "title", null);
+
+        assertEquals(List.of(second, note), notes);
+    }
+
+    @Test
+    void testSearchNotes_IndexNotReady() {
+        when(searchIndex.isReady()).thenReturn(false);
+        when(noteRepository.findNoteRowsByTitlePage(user, "title", PageRequest.of(0, 5))).thenReturn(List.of(note));
+
+        List<NoteRow> notes = noteReadService.searchNotes(user, "title", 5);
+
+        assertEquals(List.of(note), notes);
+        verify(searchIndex, never()).search(any(), any(), anyInt());
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.sharesnotesapp.service_test;
+
+import com.example.sharesnotesapp.model.Note;
+import com.example.sharesnotesapp.model.User;
+import com.example.sharesnotesapp.repository.NoteRepository;
+import com.example.sharesnotesapp.service.note.NoteSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class NoteSearchIndexTest {
+    @Mock
+    private NoteRepository noteRepository;
+
+    private NoteSearchIndex searchIndex;
+    private User user;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        searchIndex = new NoteSearchIndex(noteRepository);
+
+        user = new User();
+        user.setId(1L);
+    }
+
+    private Note note(Long id, User owner, String title, String text) {
+        return Note.builder().id(id).user(owner).title(title).text(text).build();
+    }
+
+    @Test
+    void testSearch_RanksTitleAndMatchedTermsFirst() {
+        searchIndex.index(note(1L, user, "Shopping list", "milk, bread and coffee"));
+        searchIndex.index(note(2L, user, "Coffee beans", "ethiopian roast"));
+        searchIndex.index(note(3L, user, "Coffee and milk", "breakfast"));
+
+        assertEquals(List.of(3L, 2L, 1L), searchIndex.search(user.getId(), "coffee", 10));
+        assertEquals(List.of(3L, 1L, 2L), searchIndex.search(user.getId(), "coffee milk", 10));
+        assertEquals(List.of(3L), searchIndex.search(user.getId(), "coffee milk", 1));
+    }
+
+    @Test
+    void testSearch_PrefixMatch() {
+        searchIndex.index(note(1L, user, "Meeting", "budget discussion"));
+        searchIndex.index(note(2L, user, "Budgeting", "yearly"));
+
+        assertEquals(List.of(2L, 1L), searchIndex.search(user.getId(), "Budg", 10));
+        assertEquals(List.of(), searchIndex.search(user.getId(), "udget", 10));
+    }
+
+    @Test
+    void testSearch_OnlyOwnNotes() {
+        User other = new User();
+        other.setId(2L);
+
+        searchIndex.index(note(1L, user, "Secret", "mine"));
+        searchIndex.index(note(2L, other, "Secret", "theirs"));
+
+        assertEquals(List.of(1L), searchIndex.search(user.getId(), "secret", 10));
+    }
+
+    @Test
+    void testIndex_UpdateAndRemove() {
+        Note note = note(1L, user, "Old title", "text");
+        searchIndex.index(note);
+
+        note.setTitle("New title");
+        searchIndex.index(note);
+
+        assertEquals(List.of(), searchIndex.search(user.getId(), "old", 10));
+        assertEquals(List.of(1L), searchIndex.search(user.getId(), "new", 10));
+
+        searchIndex.remove(note);
+
+        assertEquals(List.of(), searchIndex.search(user.getId(), "new", 10));
+        assertEquals(0, searchIndex.size());
+    }
+
+    @Test
+    void testRebuild_KeepsNotesChangedMeanwhile() {
+        NoteRepository.SearchDocument stale = document(1L, "Stale title");
+        NoteRepository.SearchDocument deleted = document(2L, "Deleted note");
+        when(noteRepository.findSearchDocumentsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(stale, deleted));
+
+        searchIndex.index(note(1L, user, "Fresh title", null));
+        searchIndex.remove(note(2L, user, "Deleted note", null));
+        assertFalse(searchIndex.isReady());
+
+        searchIndex.rebuild();
+
+        assertTrue(searchIndex.isReady());
+        assertEquals(List.of(1L), searchIndex.search(user.getId(), "fresh", 10));
+        assertEquals(List.of(), searchIndex.search(user.getId(), "stale", 10));
+        assertEquals(List.of(), searchIndex.search(user.getId(), "deleted", 10));
+    }
+
+    private NoteRepository.SearchDocument document(Long id, String title) {
+        return new NoteRepository.SearchDocument() {
+            public Long getId() {
+                return id;
+            }
+
+            public Long getUserId() {
+                return user.getId();
+            }
+
+            public String getTitle() {
+                return title;
+            }
+
+            public String getText() {
+                return null;
+            }
+        };
+    }
+}
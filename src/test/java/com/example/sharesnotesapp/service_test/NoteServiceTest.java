@@ -6,16 +6,24 @@ import com.example.sharesnotesapp.model.User;
 import com.example.sharesnotesapp.model.dto.request.NoteRequestDto;
 import com.example.sharesnotesapp.repository.NoteRepository;
 import com.example.sharesnotesapp.repository.UserRepository;
+import com.example.sharesnotesapp.service.note.NoteExport;
+import com.example.sharesnotesapp.service.note.NoteExportCache;
+import com.example.sharesnotesapp.service.note.NoteRowCache;
+import com.example.sharesnotesapp.service.note.NoteSearchIndex;
 import com.example.sharesnotesapp.service.note.NoteServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 
 import javax.persistence.EntityNotFoundException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.sql.Date;
 import java.time.LocalDate;
 import java.util.List;
@@ -29,6 +37,12 @@ class NoteServiceTest {
     private UserRepository userRepository;
     @Mock
     private NoteRepository noteRepository;
+    @Mock
+    private NoteSearchIndex searchIndex;
+    @Spy
+    private NoteExportCache exportCache = new NoteExportCache(100, 1 << 20, "", 0);
+    @Mock
+    private NoteRowCache noteRowCache;
 
     @InjectMocks
     private NoteServiceImpl noteService;
@@ -75,6 +89,7 @@ class NoteServiceTest {
         assertEquals(note.getDate(), savedNote.getDate());
 
         verify(noteRepository).save(any(Note.class));
+        verify(searchIndex).index(note);
     }
 
     @Test
@@ -100,6 +115,8 @@ class NoteServiceTest {
         noteService.deleteNote(note.getId());
 
         verify(noteRepository, times(1)).deleteById(note.getId());
+        verify(exportCache).evict(note.getId());
+        verify(searchIndex).remove(note);
     }
 
     @Test
@@ -123,6 +140,8 @@ class NoteServiceTest {
 
         Note foundNote = noteService.getNoteById(id).orElseThrow();
 
+        verify(noteRepository, times(1)).findById(id);
+
         assertEquals(note.getUser(), foundNote.getUser());
         assertEquals(note.getTitle(), foundNote.getTitle());
         assertEquals(note.getText(), foundNote.getText());
@@ -310,12 +329,16 @@ class NoteServiceTest {
 
         NoteRequestDto noteRequestDto = new NoteRequestDto();
         noteRequestDto.setTitle("New title");
+        when(noteRepository.save(note)).thenReturn(note);
         noteService.updateNote(note.getId(), noteRequestDto);
 
         assertEquals("New title", note.getTitle());
         assertEquals("Text", note.getText());
         assertEquals(LocalDate.now(), note.getDate());
         assertEquals(8, note.getGrade());
+        verify(exportCache).evict(note.getId());
+        verify(noteRowCache).invalidate(note.getId());
+        verify(searchIndex).index(note);
     }
 
     @Test
@@ -332,33 +355,123 @@ class NoteServiceTest {
         assertEquals("Note does not exist", exception.getMessage());
     }
 
+    @Test
+    void testExportNoteTxt() {
+        NoteExport export = noteService.exportNote(note, FileType.txt);
+
+        assertEquals(MediaType.TEXT_PLAIN, export.getMediaType());
+        assertEquals("note_A title_" + note.getDate() + ".txt", export.getFilename());
+        assertArrayEquals(noteService.createTextFileContent(note).getBytes(), export.getContent());
+    }
+
+    @Test
+    void testExportNotePdf() {
+        NoteExport export = noteService.exportNote(note, FileType.pdf);
+
+        assertEquals(MediaType.APPLICATION_PDF, export.getMediaType());
+        assertTrue(export.getContentLength() > 0);
+        assertEquals("%PDF", new String(export.getContent(), 0, 4));
+    }
+
+    @Test
+    void testExportNotePdf_RendersOncePerVersion() {
+        NoteExport first = noteService.exportNote(note, FileType.pdf);
+        NoteExport second = noteService.exportNote(note, FileType.pdf);
+
+        note.setText("Changed text");
+        NoteExport changed = noteService.exportNote(note, FileType.pdf);
+
+        assertSame(first, second);
+        assertNotSame(first, changed);
+    }
+
+    @Test
+    void testExportNoteDocx() {
+        NoteExport export = noteService.exportNote(note, FileType.docx);
+
+        assertEquals(MediaType.APPLICATION_OCTET_STREAM, export.getMediaType());
+        assertTrue(export.getContentLength() > 0);
+        assertEquals("note_A title_" + note.getDate() + ".docx", export.getFilename());
+    }
+
     @Test
     void testDownloadNoteTxt() {
-        HttpHeaders headers = noteService.downloadNote(note, FileType.txt);
+        NoteExport export = noteService.exportNote(note, FileType.txt);
+        HttpHeaders headers = noteService.downloadNote(export);
 
         assertEquals(MediaType.TEXT_PLAIN, headers.getContentType());
-        assertTrue(headers.getContentLength() > 0);
+        assertEquals(export.getContentLength(), headers.getContentLength());
         assertTrue(headers.getContentDisposition().toString().contains("filename=\"note_A title"));
     }
 
     @Test
     void testDownloadNotePdf() {
-        HttpHeaders headers = noteService.downloadNote(note, FileType.pdf);
+        NoteExport export = noteService.exportNote(note, FileType.pdf);
+        HttpHeaders headers = noteService.downloadNote(export);
 
         assertEquals(MediaType.APPLICATION_PDF, headers.getContentType());
-        assertTrue(headers.getContentLength() > 0);
+        assertEquals(export.getContentLength(), headers.getContentLength());
         assertTrue(headers.getContentDisposition().toString().contains("filename=\"note_A title"));
     }
 
     @Test
     void testDownloadNoteDocx() {
-        HttpHeaders headers = noteService.downloadNote(note, FileType.docx);
+        NoteExport export = noteService.exportNote(note, FileType.docx);
+        HttpHeaders headers = noteService.downloadNote(export);
 
         assertEquals(MediaType.APPLICATION_OCTET_STREAM, headers.getContentType());
-        assertTrue(headers.getContentLength() > 0);
+        assertEquals(export.getContentLength(), headers.getContentLength());
         assertTrue(headers.getContentDisposition().toString().contains("filename=\"note_A title"));
     }
 
+    @Test
+    void testStreamNoteHeaders() {
+        HttpHeaders headers = noteService.streamNoteHeaders(note, FileType.pdf);
+
+        assertEquals(MediaType.APPLICATION_PDF, headers.getContentType());
+        assertEquals(-1, headers.getContentLength());
+        assertTrue(headers.getContentDisposition().toString().contains("filename=\"note_A title"));
+    }
+
+    @Test
+    void testWriteNoteContentTxt() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        noteService.writeNoteContent(note, FileType.txt, outputStream);
+
+        assertEquals(noteService.createTextFileContent(note), outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testWriteNoteContentPdf() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        noteService.writeNoteContent(note, FileType.pdf, outputStream);
+
+        assertEquals("%PDF", new String(outputStream.toByteArray(), 0, 4));
+        verify(exportCache, never()).getOrRender(any(), any(), any());
+    }
+
+    @Test
+    void testWriteNoteContentDocx() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        noteService.writeNoteContent(note, FileType.docx, outputStream);
+
+        assertTrue(outputStream.size() > 0);
+        assertEquals("PK", new String(outputStream.toByteArray(), 0, 2));
+    }
+
+    @Test
+    void testWriteNoteContent_CachedExport() throws IOException {
+        NoteExport export = noteService.exportNote(note, FileType.pdf);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        noteService.writeNoteContent(note, FileType.pdf, outputStream);
+
+        assertArrayEquals(export.getContent(), outputStream.toByteArray());
+    }
+
     @Test
     void testGetLatestNotes(){
         Note note2 = Note
@@ -437,15 +550,12 @@ class NoteServiceTest {
         LocalDate startDate = LocalDate.parse("2024-04-01");
         LocalDate endDate = LocalDate.parse("2024-04-10");
 
-        when(noteRepository.getNotesByDateBetweenOrderByDateAsc(startDate, endDate))
+        when(noteRepository.getNotesByUserAndDateBetweenOrderByDateAscIdAsc(user, startDate, endDate))
                 .thenReturn(List.of(note3, note2));
 
-        List<Note> notes = noteService.getNotesBetweenDates(startDate, endDate);
+        List<Note> notes = noteService.getNotesBetweenDates(user, startDate, endDate);
 
         assertEquals(notes.get(0), note3);
         assertEquals(notes.get(1), note2);
     }
 }
-
-
-
@@ -1,17 +1,21 @@
 package com.example.sharesnotesapp.service_test;
 
+import com.example.sharesnotesapp.cache.SecondLevelCache;
 import com.example.sharesnotesapp.model.Request;
 import com.example.sharesnotesapp.model.Status;
 import com.example.sharesnotesapp.model.User;
 import com.example.sharesnotesapp.model.dto.request.RequestRequestDto;
 import com.example.sharesnotesapp.repository.RequestRepository;
 import com.example.sharesnotesapp.repository.UserRepository;
+import com.example.sharesnotesapp.service.request.FriendshipChangedEvent;
 import com.example.sharesnotesapp.service.request.RequestServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import javax.persistence.EntityNotFoundException;
 
@@ -19,15 +23,20 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public class RequestServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
     private RequestRepository requestRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private SecondLevelCache secondLevelCache;
 
     @InjectMocks
     private RequestServiceImpl requestService;
@@ -45,8 +54,8 @@ public class RequestServiceTest {
 
         request = new Request(1L, sender, receiver, Status.PENDING, LocalDateTime.now());
 
-        sender.setFriendList(new ArrayList<>());
-        receiver.setFriendList(new ArrayList<>());
+        sender.setFriendList(new HashSet<>());
+        receiver.setFriendList(new HashSet<>());
     }
 
     @Test
@@ -60,6 +69,9 @@ public class RequestServiceTest {
         requestDto.setReceiverEmail("receiver@example.com");
 
         Request savedRequest = requestService.sendRequest(requestDto);
+        verify(userRepository, times(1)).lockUsers(List.of(1L, 2L));
+        verify(requestRepository, times(1)).findStatusesBetween(1L, 2L, List.of(Status.PENDING, Status.ACCEPTED));
+        verify(requestRepository, never()).getRequestsBySenderAndReceiver(any(User.class), any(User.class));
 
         assertEquals(request.getSender(), savedRequest.getSender());
         assertEquals(request.getReceiver(), savedRequest.getReceiver());
@@ -110,10 +122,9 @@ public class RequestServiceTest {
 
     @Test
     public void testSendRequest_PendingRequestAlreadyExists() {
-        Request anotherRequest = new Request(1L, sender, receiver, Status.PENDING, LocalDateTime.parse("2024-09-09T00:00:00"));
         when(userRepository.findById(1L)).thenReturn(Optional.of(sender));
         when(userRepository.findUserByEmail("receiver@example.com")).thenReturn(Optional.of(receiver));
-        when(requestRepository.getRequestsBySenderAndReceiver(sender, receiver)).thenReturn(List.of(anotherRequest));
+        when(requestRepository.findStatusesBetween(eq(1L), eq(2L), anyCollection())).thenReturn(List.of(Status.PENDING));
 
         RequestRequestDto requestDto = new RequestRequestDto();
         requestDto.setSenderId(1L);
@@ -126,10 +137,9 @@ public class RequestServiceTest {
 
     @Test
     public void testSendRequest_PendingRequestAlreadyExistsFromReceiver() {
-        Request anotherRequest = new Request(1L, receiver, sender, Status.PENDING, LocalDateTime.parse("2024-09-09T00:00:00"));
         when(userRepository.findById(1L)).thenReturn(Optional.of(sender));
         when(userRepository.findUserByEmail("receiver@example.com")).thenReturn(Optional.of(receiver));
-        when(requestRepository.getRequestsBySenderAndReceiver(receiver, sender)).thenReturn(List.of(anotherRequest));
+        when(requestRepository.findStatusesBetween(eq(1L), eq(2L), anyCollection())).thenReturn(List.of(Status.PENDING));
 
         RequestRequestDto requestDto = new RequestRequestDto();
         requestDto.setSenderId(1L);
@@ -142,10 +152,9 @@ public class RequestServiceTest {
 
     @Test
     public void testSendRequest_AcceptedRequestAlreadyExists() {
-        Request anotherRequest = new Request(1L, sender, receiver, Status.ACCEPTED, LocalDateTime.parse("2024-09-09T00:00:00"));
         when(userRepository.findById(1L)).thenReturn(Optional.of(sender));
         when(userRepository.findUserByEmail("receiver@example.com")).thenReturn(Optional.of(receiver));
-        when(requestRepository.getRequestsBySenderAndReceiver(sender, receiver)).thenReturn(List.of(anotherRequest));
+        when(requestRepository.findStatusesBetween(eq(1L), eq(2L), anyCollection())).thenReturn(List.of(Status.ACCEPTED));
 
         RequestRequestDto requestDto = new RequestRequestDto();
         requestDto.setSenderId(1L);
@@ -158,10 +167,9 @@ public class RequestServiceTest {
 
     @Test
     public void testSendRequest_AcceptedRequestAlreadyExistsFromReceiver() {
-        Request anotherRequest = new Request(1L, receiver, sender, Status.ACCEPTED, LocalDateTime.parse("2024-09-09T00:00:00"));
         when(userRepository.findById(1L)).thenReturn(Optional.of(sender));
         when(userRepository.findUserByEmail("receiver@example.com")).thenReturn(Optional.of(receiver));
-        when(requestRepository.getRequestsBySenderAndReceiver(receiver, sender)).thenReturn(List.of(anotherRequest));
+        when(requestRepository.findStatusesBetween(eq(1L), eq(2L), anyCollection())).thenReturn(List.of(Status.ACCEPTED));
 
         RequestRequestDto requestDto = new RequestRequestDto();
         requestDto.setSenderId(1L);
@@ -205,15 +213,19 @@ public class RequestServiceTest {
     @Test
     public void testAcceptRequest() {
         Long id = 1L;
-        when(requestRepository.findById(id)).thenReturn(Optional.of(request));
+        when(requestRepository.findByIdForUpdate(id)).thenReturn(Optional.of(request));
         requestService.acceptRequest(id);
         assertEquals(Status.ACCEPTED, request.getStatus());
+        verify(userRepository, times(1)).addFriendship(1L, 2L);
+        verify(secondLevelCache, times(1)).evictFriendLists(Set.of(1L, 2L));
+        verify(userRepository, never()).save(any(User.class));
+        verify(eventPublisher, times(1)).publishEvent(new FriendshipChangedEvent(1L, 2L));
     }
 
     @Test
     public void testAcceptRequest_InvalidId() {
         Long nonExistentId = 999L;
-        when(requestRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(requestRepository.findByIdForUpdate(nonExistentId)).thenReturn(Optional.empty());
 
         EntityNotFoundException exception
                 = assertThrows(EntityNotFoundException.class, () -> requestService.acceptRequest(nonExistentId));
@@ -225,11 +237,12 @@ public class RequestServiceTest {
     public void testAcceptRequest_NonPendingRequest(){
         Long id = 2L;
         Request anotherRequest = new Request(2L, receiver, sender, Status.ACCEPTED, LocalDateTime.parse("2024-09-09T00:00:00"));
-        when(requestRepository.findById(id)).thenReturn(Optional.of(anotherRequest));
+        when(requestRepository.findByIdForUpdate(id)).thenReturn(Optional.of(anotherRequest));
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> requestService.acceptRequest(id));
         String message = "Cannot accept a non-pending request";
         assertEquals(message, exception.getMessage());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -290,23 +303,29 @@ public class RequestServiceTest {
 
     @Test
     public void testAddToFriendList(){
-        when(userRepository.findById(any(Long.class))).thenReturn(Optional.of(sender));
-        when(userRepository.findById(any(Long.class))).thenReturn(Optional.of(receiver));
-        when(requestRepository.getRequestsBySenderAndReceiver(any(User.class), any(User.class))).thenReturn(List.of(request));
         requestService.addToFriendList(sender, receiver);
-        assertEquals(sender, receiver.getFriendList().get(0));
-        assertEquals(receiver, sender.getFriendList().get(0));
+        verify(userRepository, times(1)).areFriends(1L, 2L);
+        verify(userRepository, times(1)).addFriendship(1L, 2L);
+        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
     public void testAddToFriendList_UsersAlreadyFriend(){
-        sender = mock(User.class);
-        when(userRepository.findById(any(Long.class))).thenReturn(Optional.of(receiver));
-        when(sender.getFriendList()).thenReturn(List.of(receiver));
+        when(userRepository.areFriends(1L, 2L)).thenReturn(true);
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> requestService.addToFriendList(sender, receiver));
+        String message = "Users are already friends";
+        assertEquals(message, exception.getMessage());
+        verify(userRepository, never()).addFriendship(any(Long.class), any(Long.class));
+    }
+
+    @Test
+    public void testAddToFriendList_ConcurrentlyAdded(){
+        when(userRepository.addFriendship(1L, 2L)).thenThrow(new DataIntegrityViolationException("user_friends_unique"));
         Exception exception = assertThrows(IllegalArgumentException.class, () -> requestService.addToFriendList(sender, receiver));
         String message = "Users are already friends";
         assertEquals(message, exception.getMessage());
     }
+
     @Test
     public void testAddToFriendList_SameUser(){
         sender = mock(User.class);
@@ -322,37 +341,42 @@ public class RequestServiceTest {
 
     @Test
     public void testRemoveFromFriendList() {
-        sender.getFriendList().add(receiver);
-        receiver.getFriendList().add(sender);
-
-        when(userRepository.findById(1L)).thenReturn(Optional.of(sender));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(receiver));
-        when(requestRepository.getRequestsBySenderAndReceiver(sender, receiver)).thenReturn(List.of(request));
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(userRepository.removeFriendship(1L, 2L)).thenReturn(2);
 
         requestService.removeFromFriendList(sender, 2L);
-        assertEquals(0, sender.getFriendList().size());
-        assertEquals(0, receiver.getFriendList().size());
-        verify(userRepository, times(2)).save(any(User.class));
-        verify(requestRepository, times(1)).deleteAll(any(List.class));
+        verify(userRepository, times(1)).removeFriendship(1L, 2L);
+        verify(requestRepository, times(1)).deleteAllBetween(1L, 2L);
+        verify(secondLevelCache, times(1)).evictFriendLists(Set.of(1L, 2L));
+        verify(eventPublisher, times(1)).publishEvent(new FriendshipChangedEvent(1L, 2L));
+        verify(userRepository, never()).findById(any(Long.class));
+        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
     public void testRemoveFromFriendList_NotFriends() {
-        User sender = mock(User.class);
-        List<User> friends = new ArrayList<>();
-
-        when(userRepository.findById(any())).thenReturn(Optional.of(sender));
-        when(sender.getFriendList()).thenReturn(friends);
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(userRepository.removeFriendship(1L, 2L)).thenReturn(0);
         EntityNotFoundException exception
-                = assertThrows(EntityNotFoundException.class, () -> requestService.removeFromFriendList(sender, 1L));
+                = assertThrows(EntityNotFoundException.class, () -> requestService.removeFromFriendList(sender, 2L));
         String message = "Users must be friends to remove from friend list";
         assertEquals(message, exception.getMessage());
+        verify(requestRepository, never()).deleteAllBetween(any(Long.class), any(Long.class));
+    }
+
+    @Test
+    public void testRemoveFromFriendList_InvalidId() {
+        when(userRepository.existsById(3L)).thenReturn(false);
+        EntityNotFoundException exception
+                = assertThrows(EntityNotFoundException.class, () -> requestService.removeFromFriendList(sender, 3L));
+        String message = "User with id 3 does not exist";
+        assertEquals(message, exception.getMessage());
     }
 
     @Test
     public void testRemoveFromFriendList_SameUser() {
         sender.setId(1L);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(sender));
+        when(userRepository.existsById(1L)).thenReturn(true);
         IllegalArgumentException exception
                 = assertThrows(IllegalArgumentException.class, () -> requestService.removeFromFriendList(sender, 1L));
         String message = "Must provide different users";
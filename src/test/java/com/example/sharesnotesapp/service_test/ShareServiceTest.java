@@ -3,6 +3,7 @@ package com.example.sharesnotesapp.service_test;
 import com.example.sharesnotesapp.model.Note;
 import com.example.sharesnotesapp.model.Share;
 import com.example.sharesnotesapp.model.User;
+import com.example.sharesnotesapp.model.dto.response.ShareResultDto;
 import com.example.sharesnotesapp.repository.NoteRepository;
 import com.example.sharesnotesapp.repository.ShareRepository;
 import com.example.sharesnotesapp.repository.UserRepository;
@@ -16,8 +17,11 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import javax.persistence.EntityNotFoundException;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -44,8 +48,8 @@ public class ShareServiceTest {
 
         sender = new User(1L, "Sender", "Sender", "sender@example.com", "test123");
         receiver = new User(2L, "Receiver", "Receiver", "receiver@example.com", "test123");
-        sender.setFriendList(List.of(receiver));
-        receiver.setFriendList(List.of(sender));
+        sender.setFriendList(Set.of(receiver));
+        receiver.setFriendList(Set.of(sender));
 
         note = new Note(1L, sender, LocalDate.now(), "Title", "Text", 9);
 
@@ -168,4 +172,53 @@ public class ShareServiceTest {
         String message = "User does not exist";
         assertEquals(message, exception.getMessage());
     }
+
+    @Test
+    public void testShareNoteWithAll(){
+        User other = new User(3L, "Other", "Other", "Other@Example.com", "test123");
+
+        when(noteRepository.findById(1L)).thenReturn(Optional.of(note));
+        when(userRepository.findAllByEmailIn(anyCollection())).thenReturn(List.of(receiver, other));
+        when(shareRepository.saveAll(anyCollection())).thenAnswer(invocation -> {
+            List<Share> shares = List.copyOf(invocation.<Collection<Share>>getArgument(0));
+            for (int i = 0; i < shares.size(); i++) {
+                shares.get(i).setId(10L + i);
+            }
+            return shares;
+        });
+
+        List<ShareResultDto> results = shareService.shareNoteWithAll(sender,
+                List.of("receiver@example.com", "missing@example.com", " Other@example.com", "RECEIVER@example.com"), 1L);
+
+        assertEquals(List.of(
+                new ShareResultDto("receiver@example.com", 10L, null),
+                new ShareResultDto("missing@example.com", null, "User does not exist"),
+                new ShareResultDto("Other@example.com", 11L, null)), results);
+        verify(noteRepository, times(1)).findById(1L);
+        verify(userRepository, times(1)).findAllByEmailIn(argThat(emails -> List.copyOf(emails)
+                .equals(List.of("receiver@example.com", "missing@example.com", "other@example.com"))));
+        verify(userRepository, never()).findUserByEmail(any(String.class));
+        verify(shareRepository, times(1)).saveAll(anyCollection());
+    }
+
+    @Test
+    public void testShareNoteWithAll_InvalidNoteId(){
+        when(noteRepository.findById(1L)).thenReturn(Optional.empty());
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> shareService.shareNoteWithAll(sender, List.of("receiver@example.com"), 1L));
+
+        assertEquals("Note does not exist", exception.getMessage());
+        verify(shareRepository, never()).saveAll(anyCollection());
+    }
+
+    @Test
+    public void testShareNoteWithAll_TooManyReceivers(){
+        List<String> emails = IntStream.rangeClosed(0, ShareServiceImpl.MAX_RECEIVERS)
+                .mapToObj(i -> "user" + i + "@example.com")
+                .toList();
+
+        assertThrows(IllegalArgumentException.class, () -> shareService.shareNoteWithAll(sender, emails, 1L));
+        verify(userRepository, never()).findAllByEmailIn(anyCollection());
+    }
 }
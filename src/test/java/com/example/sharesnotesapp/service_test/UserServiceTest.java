@@ -1,9 +1,13 @@
 package com.example.sharesnotesapp.service_test;
 
+import com.example.sharesnotesapp.cache.SecondLevelCache;
 import com.example.sharesnotesapp.model.User;
 import com.example.sharesnotesapp.model.dto.request.UserNameDto;
 import com.example.sharesnotesapp.model.dto.request.UserRequestDto;
 import com.example.sharesnotesapp.repository.UserRepository;
+import com.example.sharesnotesapp.security.PrincipalCache;
+import com.example.sharesnotesapp.service.note.NoteRowCache;
+import com.example.sharesnotesapp.service.user.UserResponseCache;
 import com.example.sharesnotesapp.service.user.UserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,9 +19,10 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import javax.persistence.EntityNotFoundException;
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
@@ -30,6 +35,15 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private PrincipalCache principalCache;
+    @Mock
+    private UserResponseCache userResponseCache;
+    @Mock
+    private NoteRowCache noteRowCache;
+    @Mock
+    private SecondLevelCache secondLevelCache;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -100,6 +114,8 @@ class UserServiceTest {
 
         User foundUser = userService.getUserById(1L).orElseThrow(null);
 
+        verify(userRepository, times(1)).findById(1L);
+
         assertEquals("ExampleA", foundUser.getFirstName());
         assertEquals("ExampleB", foundUser.getLastName());
         assertEquals("test_example@test.com", foundUser.getEmail());
@@ -129,6 +145,8 @@ class UserServiceTest {
 
         User foundUser = userService.getUserByEmail(email).orElseThrow(null);
 
+        verify(userRepository, times(1)).findUserByEmail(email);
+
         assertEquals("ExampleA", foundUser.getFirstName());
         assertEquals("ExampleB", foundUser.getLastName());
         assertEquals("test_example@test.com", foundUser.getEmail());
@@ -184,6 +202,10 @@ class UserServiceTest {
         userService.deleteUser(id);
 
         verify(userRepository, times(1)).deleteById(id);
+        verify(secondLevelCache).evictUserDependents();
+        verify(principalCache).invalidate(user.getEmail());
+        verify(userResponseCache).invalidateUsers(Set.of(id));
+        verify(noteRowCache).invalidateUser(id);
     }
 
     @Test
@@ -198,6 +220,7 @@ class UserServiceTest {
         assertEquals(message, exception.getMessage());
 
         verify(userRepository, never()).deleteById(nonExistentId);
+        verify(principalCache, never()).invalidate(any());
     }
 
     @Test
@@ -212,6 +235,9 @@ class UserServiceTest {
         assertEquals("ExampleB", user.getLastName());
         assertEquals("test_example@test.com", user.getEmail());
         assertEquals(passwordEncoder.encode("test123"), user.getPassword());
+        verify(principalCache).invalidate("test_example@test.com");
+        verify(userResponseCache).invalidateUsers(Set.of(1L));
+        verify(noteRowCache).invalidateUser(1L);
     }
 
     @Test
@@ -249,11 +275,11 @@ class UserServiceTest {
     public void testGetUserFriends() {
         User anotherUser = mock(User.class);
         when(userRepository.findById(any(Long.class))).thenReturn(Optional.of(anotherUser));
-        List<User> friendList = new ArrayList<>();
+        Set<User> friendList = new HashSet<>();
         friendList.add(user);
         when(anotherUser.getFriendList()).thenReturn(friendList);
         List<User> friends = userService.getUserFriends(anotherUser);
-        assertEquals(friendList.get(0), friends.get(0));
+        assertEquals(user, friends.get(0));
     }
     @Test
     public void testSearchUsers_EmptyString() {